@@ -0,0 +1,46 @@
+package ru.otus.hw.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.otus.hw.dao.dto.AnswerCsvConverter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One answer cell of the OpenCSV bank, {@code text%flag}, converted the way the bean binding does it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class AnswerConversionBenchmark {
+
+    @Param({"16", "256"})
+    private int answerLength;
+
+    private AnswerCsvConverter converter;
+
+    private String value;
+
+    @Setup
+    public void setUp() {
+        converter = new AnswerCsvConverter();
+        value = "a".repeat(answerLength) + "%true";
+    }
+
+    @Benchmark
+    public Object convertToRead() {
+        return converter.convertToRead(value);
+    }
+}
@@ -0,0 +1,30 @@
+package ru.otus.hw.benchmarks;
+
+import org.openjdk.jmh.Main;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entry point of the benchmarks jar: the standard JMH command line with the GC profiler switched on,
+ * so every run reports allocation rate and bytes per operation next to the time. Passing any
+ * {@code -prof} option replaces the default profiler.
+ */
+public final class BenchmarkMain {
+
+    private static final List<String> DEFAULT_PROFILER = List.of("-prof", "gc");
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (Arrays.asList(args).contains("-prof")) {
+            Main.main(args);
+            return;
+        }
+        var withProfiler = new String[args.length + DEFAULT_PROFILER.size()];
+        DEFAULT_PROFILER.toArray(withProfiler);
+        System.arraycopy(args, 0, withProfiler, DEFAULT_PROFILER.size(), args.length);
+        Main.main(withProfiler);
+    }
+}
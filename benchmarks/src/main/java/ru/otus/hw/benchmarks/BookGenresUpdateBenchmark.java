@@ -0,0 +1,176 @@
+package ru.otus.hw.benchmarks;
+
+import liquibase.exception.LiquibaseException;
+import liquibase.integration.spring.SpringLiquibase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import ru.otus.hw.models.Author;
+import ru.otus.hw.models.Book;
+import ru.otus.hw.models.Genre;
+import ru.otus.hw.repositories.JdbcBookRepository;
+import ru.otus.hw.repositories.JdbcGenreRepository;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Book update in hw05 on an in-memory H2 database: {@link JdbcBookRepository#save(Book)}, which writes only the
+ * changed genre relations, against the former delete-all-and-reinsert of the relations. Every update flips a book
+ * between two genre sets that differ in no, one or all genres. Besides the time, the number of rows written per
+ * update is printed at the end of each trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class BookGenresUpdateBenchmark {
+
+    private static final int BOOKS_COUNT = 1000;
+
+    private static final int GENRES_COUNT = 16;
+
+    private static final String SCHEMA_CHANGELOG = "classpath:db/changelog/changeset/001-create-schema.yaml";
+
+    private static final Author AUTHOR = new Author(1, "Author_1");
+
+    @Param({"NONE", "ONE", "ALL"})
+    private GenresChange genresChange;
+
+    private SingleConnectionDataSource dataSource;
+
+    private RowCountingJdbcTemplate jdbcTemplate;
+
+    private JdbcBookRepository bookRepository;
+
+    private long updatesCount;
+
+    @Setup
+    public void setUp() {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:" + UUID.randomUUID(), true);
+        jdbcTemplate = new RowCountingJdbcTemplate(dataSource);
+        createSchema();
+        bookRepository = new JdbcBookRepository(new JdbcGenreRepository(jdbcTemplate), jdbcTemplate);
+        jdbcTemplate.rowsWritten = 0;
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.printf("%n%s: %.2f rows written per update%n", genresChange,
+                (double) jdbcTemplate.rowsWritten / Math.max(updatesCount, 1));
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public Book updateChangedGenres() {
+        return bookRepository.save(nextBook());
+    }
+
+    @Benchmark
+    public Book deleteAndReinsertGenres() {
+        var book = nextBook();
+        jdbcTemplate.update("update books set title = :title, author_id = :author_id where id = :id",
+                new MapSqlParameterSource(Map.of(
+                        "id", book.getId(),
+                        "title", book.getTitle(),
+                        "author_id", book.getAuthor().getId())));
+        jdbcTemplate.update("delete from books_genres where book_id = :book_id",
+                new MapSqlParameterSource("book_id", book.getId()));
+        jdbcTemplate.batchUpdate("insert into books_genres (book_id, genre_id) values (:book_id, :genre_id)",
+                book.getGenres().stream()
+                        .map(genre -> new MapSqlParameterSource(Map.of(
+                                "book_id", book.getId(),
+                                "genre_id", genre.getId())))
+                        .toArray(MapSqlParameterSource[]::new));
+        return book;
+    }
+
+    // Every pass over all books switches them to the other genre set, so the database always holds the current one
+    private Book nextBook() {
+        long bookId = updatesCount % BOOKS_COUNT + 1;
+        boolean secondSet = updatesCount / BOOKS_COUNT % 2 == 0;
+        updatesCount++;
+        var genreIds = secondSet ? genresChange.secondGenreIds : GenresChange.FIRST_GENRE_IDS;
+        var genres = Arrays.stream(genreIds).mapToObj(id -> new Genre(id, "Genre_" + id)).toList();
+        return new Book(bookId, "BookTitle_" + bookId, AUTHOR, genres);
+    }
+
+    // The schema changeset of hw05 as it is, the sample data of the application is replaced by a larger set
+    private void createSchema() {
+        var liquibase = new SpringLiquibase();
+        liquibase.setDataSource(dataSource);
+        liquibase.setChangeLog(SCHEMA_CHANGELOG);
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        try {
+            liquibase.afterPropertiesSet();
+        } catch (LiquibaseException e) {
+            throw new IllegalStateException("Unable to create the schema", e);
+        }
+
+        var jdbc = jdbcTemplate.getJdbcTemplate();
+        jdbc.update("insert into authors (full_name) values (?)", AUTHOR.getFullName());
+        LongStream.rangeClosed(1, GENRES_COUNT)
+                .forEach(id -> jdbc.update("insert into genres (name) values (?)", "Genre_" + id));
+        var genres = Arrays.stream(GenresChange.FIRST_GENRE_IDS).mapToObj(id -> new Genre(id, "Genre_" + id)).toList();
+        var books = LongStream.rangeClosed(1, BOOKS_COUNT)
+                .mapToObj(id -> new Book(0, "BookTitle_" + id, AUTHOR, genres))
+                .toList();
+        new JdbcBookRepository(new JdbcGenreRepository(jdbcTemplate), jdbcTemplate).insertAll(books);
+    }
+
+    public enum GenresChange {
+        NONE(1, 2, 3, 4),
+        ONE(1, 2, 3, 5),
+        ALL(5, 6, 7, 8);
+
+        private static final long[] FIRST_GENRE_IDS = {1, 2, 3, 4};
+
+        private final long[] secondGenreIds;
+
+        GenresChange(long... secondGenreIds) {
+            this.secondGenreIds = secondGenreIds;
+        }
+    }
+
+    private static final class RowCountingJdbcTemplate extends NamedParameterJdbcTemplate {
+
+        private long rowsWritten;
+
+        private RowCountingJdbcTemplate(SingleConnectionDataSource dataSource) {
+            super(dataSource);
+        }
+
+        @Override
+        public int update(String sql, SqlParameterSource paramSource) {
+            int rows = super.update(sql, paramSource);
+            rowsWritten += rows;
+            return rows;
+        }
+
+        @Override
+        public int[] batchUpdate(String sql, SqlParameterSource[] batchArgs) {
+            int[] rows = super.batchUpdate(sql, batchArgs);
+            rowsWritten += Arrays.stream(rows).filter(count -> count > 0).sum();
+            return rows;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package ru.otus.hw.benchmarks;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Simulates students against the line protocol exam server ({@code serve} or {@code serve-nio}):
+ * opens all connections, keeps them idle, then sends every student's name and answers and waits
+ * until the server closes each session.
+ *
+ * <pre>java -cp benchmarks.jar ru.otus.hw.benchmarks.ExamLoadGenerator host port connections idleSeconds 1,1,3</pre>
+ *
+ * Tens of thousands of connections need a raised open files limit on both sides.
+ */
+public final class ExamLoadGenerator {
+
+    private ExamLoadGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        var host = args.length > 0 ? args[0] : "localhost";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : 7100;
+        int connections = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        int idleSeconds = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+        var answers = args.length > 4 ? args[4].split(",") : new String[]{"1", "1", "3"};
+
+        try (var selector = Selector.open()) {
+            long connectStart = System.nanoTime();
+            var channels = connect(selector, new InetSocketAddress(host, port), connections);
+            System.out.printf("Connected %d students in %d ms, idling for %d s%n",
+                    channels.size(), elapsedMillis(connectStart), idleSeconds);
+            TimeUnit.SECONDS.sleep(idleSeconds);
+
+            long examStart = System.nanoTime();
+            for (int i = 0; i < channels.size(); i++) {
+                send(channels.get(i), script(i, answers));
+            }
+            int completed = awaitCompletion(selector, channels.size());
+            long elapsed = elapsedMillis(examStart);
+            System.out.printf("Completed %d of %d sessions in %d ms (%.1f sessions/sec)%n",
+                    completed, channels.size(), elapsed, completed * 1000.0 / Math.max(elapsed, 1));
+        }
+    }
+
+    private static List<SocketChannel> connect(Selector selector, InetSocketAddress address, int count)
+            throws IOException {
+        var channels = new ArrayList<SocketChannel>(count);
+        for (int i = 0; i < count; i++) {
+            var channel = SocketChannel.open(address);
+            channel.configureBlocking(false);
+            channel.register(selector, SelectionKey.OP_READ);
+            channels.add(channel);
+        }
+        return channels;
+    }
+
+    private static String script(int studentNumber, String[] answers) {
+        return "Student\n" + studentNumber + "\n" + String.join("\n", answers) + "\n";
+    }
+
+    private static void send(SocketChannel channel, String script) throws IOException {
+        var buffer = ByteBuffer.wrap(script.getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static int awaitCompletion(Selector selector, int sessions) throws IOException {
+        var buffer = ByteBuffer.allocateDirect(64 * 1024);
+        int completed = 0;
+        while (completed < sessions && selector.select(TimeUnit.SECONDS.toMillis(30)) > 0) {
+            var keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                var key = keys.next();
+                keys.remove();
+                buffer.clear();
+                int read;
+                try {
+                    read = ((SocketChannel) key.channel()).read(buffer);
+                } catch (IOException e) {
+                    read = -1;
+                }
+                if (read < 0) {
+                    key.cancel();
+                    key.channel().close();
+                    completed++;
+                }
+            }
+        }
+        return completed;
+    }
+
+    private static long elapsedMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
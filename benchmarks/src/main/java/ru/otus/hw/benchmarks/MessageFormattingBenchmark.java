@@ -0,0 +1,62 @@
+package ru.otus.hw.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import ru.otus.hw.metrics.LatencyMetrics;
+import ru.otus.hw.service.LocalizedMessagesServiceImpl;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Localized question line through the compiled template cache against a plain {@link ResourceBundleMessageSource}
+ * lookup, which parses a MessageFormat on every call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class MessageFormattingBenchmark {
+
+    private static final Locale LOCALE = Locale.forLanguageTag("ru-RU");
+
+    private static final String CODE = "TestService.answer.format";
+
+    private static final Object[] ARGS = {3, "Rethrow with wrapping in business exception"};
+
+    private ResourceBundleMessageSource messageSource;
+
+    private LocalizedMessagesServiceImpl messagesService;
+
+    @Setup
+    public void setUp() {
+        messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        messageSource.setFallbackToSystemLocale(false);
+        messagesService = new LocalizedMessagesServiceImpl(() -> LOCALE, messageSource, () -> false,
+                LatencyMetrics.disabled());
+        messagesService.preload();
+    }
+
+    @Benchmark
+    public String messageSource() {
+        return messageSource.getMessage(CODE, ARGS, LOCALE);
+    }
+
+    @Benchmark
+    public String getMessage() {
+        return messagesService.getMessage(CODE, ARGS);
+    }
+}
@@ -0,0 +1,64 @@
+package ru.otus.hw.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.otus.hw.service.StreamsIOService;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders one question block the way TestServiceImpl prints it. Run with {@code -prof gc} to compare
+ * allocations per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class OutputRenderingBenchmark {
+
+    private static final String[] ANSWERS = {"Certainly. You can use a spring profile", "Impossible", "Only in XML"};
+
+    private StreamsIOService unbuffered;
+
+    private StreamsIOService buffered;
+
+    @Setup
+    public void setUp() {
+        var out = new PrintStream(OutputStream.nullOutputStream(), false, StandardCharsets.UTF_8);
+        unbuffered = new StreamsIOService(out, InputStream.nullInputStream());
+        buffered = new StreamsIOService(out, InputStream.nullInputStream(), true);
+    }
+
+    @Benchmark
+    public void unbuffered() {
+        render(unbuffered);
+    }
+
+    @Benchmark
+    public void buffered() {
+        render(buffered);
+    }
+
+    private static void render(StreamsIOService ioService) {
+        ioService.printFormattedLine("Question: %s", "Is it possible to switch beans without recompiling?");
+        for (int i = 0; i < ANSWERS.length; i++) {
+            ioService.printFormattedLine("%d) %s", i + 1, ANSWERS[i]);
+        }
+        ioService.printLine("Enter the answer number:");
+        ioService.flush();
+    }
+}
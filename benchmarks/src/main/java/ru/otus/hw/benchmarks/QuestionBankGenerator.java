@@ -0,0 +1,70 @@
+package ru.otus.hw.benchmarks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes question banks of a given size. Besides the temporary banks of the benchmarks, the build runs
+ * {@link #main} to put banks of {@link #CLASSPATH_BANK_SIZES} questions into the jar, so that DAOs looking
+ * their banks up on the classpath can be measured on them.
+ */
+public final class QuestionBankGenerator {
+
+    public static final int ANSWERS_PER_QUESTION = 4;
+
+    public static final int[] CLASSPATH_BANK_SIZES = {1_000, 10_000, 100_000};
+
+    private QuestionBankGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        var classesDirectory = Path.of(args[0]);
+        for (int questionsCount : CLASSPATH_BANK_SIZES) {
+            var file = classesDirectory.resolve(classpathBankName(questionsCount));
+            Files.createDirectories(file.getParent());
+            write(file, questionsCount);
+        }
+    }
+
+    public static String classpathBankName(int questionsCount) {
+        return "generated/questions-" + questionsCount + ".csv";
+    }
+
+    public static Path generate(int questionsCount) {
+        try {
+            var file = Files.createTempFile("questions-" + questionsCount + "-", ".csv");
+            write(file, questionsCount);
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void write(Path file, int questionsCount) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("# generated question bank\n");
+            for (int i = 0; i < questionsCount; i++) {
+                writeQuestion(writer, i);
+            }
+        }
+    }
+
+    public static int correctAnswerIndex(int questionIndex) {
+        return questionIndex % ANSWERS_PER_QUESTION;
+    }
+
+    private static void writeQuestion(Writer writer, int index) throws IOException {
+        writer.write("Generated question number " + index + " about something important?;");
+        for (int a = 0; a < ANSWERS_PER_QUESTION; a++) {
+            if (a > 0) {
+                writer.write('|');
+            }
+            writer.write("Answer " + a + " for question " + index + "%" + (a == correctAnswerIndex(index)));
+        }
+        writer.write('\n');
+    }
+}
@@ -0,0 +1,47 @@
+package ru.otus.hw.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.otus.hw.dao.CsvQuestionDao;
+import ru.otus.hw.domain.Question;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CsvQuestionDao#findAll()} including the classpath lookup, on banks of {@code questionsCount}
+ * questions that the build generates into the jar with {@link QuestionBankGenerator}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class QuestionDaoBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int questionsCount;
+
+    private CsvQuestionDao dao;
+
+    @Setup
+    public void setUp() {
+        var fileName = QuestionBankGenerator.classpathBankName(questionsCount);
+        dao = new CsvQuestionDao(() -> fileName);
+    }
+
+    @Benchmark
+    public List<Question> findAll() {
+        return dao.findAll();
+    }
+}
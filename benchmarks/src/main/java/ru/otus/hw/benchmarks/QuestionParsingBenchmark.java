@@ -0,0 +1,74 @@
+package ru.otus.hw.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.otus.hw.dao.CsvQuestionDao;
+import ru.otus.hw.dao.PlainCsvQuestionDao;
+import ru.otus.hw.domain.Question;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class QuestionParsingBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int questionsCount;
+
+    private Path bankFile;
+
+    private CsvQuestionDao openCsvDao;
+
+    private PlainCsvQuestionDao plainDao;
+
+    @Setup
+    public void setUp() {
+        bankFile = QuestionBankGenerator.generate(questionsCount);
+        openCsvDao = new CsvQuestionDao(() -> bankFile.toString());
+        plainDao = new PlainCsvQuestionDao(() -> bankFile.toString());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(bankFile);
+    }
+
+    @Benchmark
+    public void openCsv(Blackhole blackhole) throws IOException {
+        parse(openCsvDao::read, blackhole);
+    }
+
+    @Benchmark
+    public void plain(Blackhole blackhole) throws IOException {
+        parse(plainDao::read, blackhole);
+    }
+
+    private void parse(Function<Reader, Stream<Question>> parser, Blackhole blackhole) throws IOException {
+        try (var reader = Files.newBufferedReader(bankFile, StandardCharsets.UTF_8);
+             var questions = parser.apply(reader)) {
+            questions.forEach(blackhole::consume);
+        }
+    }
+}
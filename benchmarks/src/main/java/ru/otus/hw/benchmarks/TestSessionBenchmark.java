@@ -0,0 +1,128 @@
+package ru.otus.hw.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import ru.otus.hw.config.TestConfig;
+import ru.otus.hw.dao.PlainCsvQuestionDao;
+import ru.otus.hw.dao.QuestionDao;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.domain.Student;
+import ru.otus.hw.domain.TestResult;
+import ru.otus.hw.metrics.LatencyMetrics;
+import ru.otus.hw.service.LocalizedIOServiceImpl;
+import ru.otus.hw.service.LocalizedMessagesServiceImpl;
+import ru.otus.hw.service.QuestionAnalyticsServiceImpl;
+import ru.otus.hw.service.StreamsIOService;
+import ru.otus.hw.service.TestServiceImpl;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole {@link TestServiceImpl#executeTestFor(Student)} run: the student answers every question of a generated
+ * bank from a scripted input, all output goes to a null stream. Covers parsing of the input, message lookup,
+ * rendering, answer bookkeeping and analytics counters together.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class TestSessionBenchmark {
+
+    private static final Student STUDENT = new Student("Bench", "Student");
+
+    @Param({"10", "100", "1000"})
+    private int questionsCount;
+
+    private Path bankFile;
+
+    private byte[] scriptedAnswers;
+
+    private QuestionDao questionDao;
+
+    private LocalizedMessagesServiceImpl messagesService;
+
+    private QuestionAnalyticsServiceImpl questionAnalyticsService;
+
+    private PrintStream out;
+
+    @Setup
+    public void setUp() throws IOException {
+        bankFile = QuestionBankGenerator.generate(questionsCount);
+        List<Question> questions;
+        try (var reader = Files.newBufferedReader(bankFile, StandardCharsets.UTF_8);
+             var parsed = new PlainCsvQuestionDao(() -> bankFile.toString()).read(reader)) {
+            questions = parsed.toList();
+        }
+        questionDao = QuestionDao.inMemory(questions);
+
+        var answers = new StringBuilder();
+        for (int i = 0; i < questionsCount; i++) {
+            answers.append(QuestionBankGenerator.correctAnswerIndex(i) + 1).append('\n');
+        }
+        scriptedAnswers = answers.toString().getBytes(StandardCharsets.UTF_8);
+
+        var messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        messageSource.setFallbackToSystemLocale(false);
+        messagesService = new LocalizedMessagesServiceImpl(() -> Locale.US, messageSource, () -> false,
+                LatencyMetrics.disabled());
+        messagesService.preload();
+        questionAnalyticsService = new QuestionAnalyticsServiceImpl(questionDao, () -> bankFile.toString());
+        out = new PrintStream(OutputStream.nullOutputStream(), false, StandardCharsets.UTF_8);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(bankFile);
+    }
+
+    @Benchmark
+    public TestResult executeTestFor() {
+        var streamsIOService = new StreamsIOService(out, new ByteArrayInputStream(scriptedAnswers), true);
+        var ioService = new LocalizedIOServiceImpl(messagesService, streamsIOService, LatencyMetrics.disabled());
+        var testService = new TestServiceImpl(ioService, questionDao, bankFile.toString(),
+                new AllQuestionsTestConfig(), questionAnalyticsService);
+        return testService.executeTestFor(STUDENT);
+    }
+
+    private static final class AllQuestionsTestConfig implements TestConfig {
+
+        @Override
+        public int getRightAnswersCountToPass() {
+            return 1;
+        }
+
+        @Override
+        public int getQuestionsPerTest() {
+            return 0;
+        }
+
+        @Override
+        public boolean isAdaptiveTesting() {
+            return false;
+        }
+    }
+}
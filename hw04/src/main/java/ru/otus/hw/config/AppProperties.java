@@ -4,29 +4,96 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.Collection;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @ConfigurationProperties(prefix = "test")
 @Setter
-public class AppProperties implements TestConfig, TestFileNameProvider, LocaleConfig {
+public class AppProperties implements TestConfig, TestFileNameProvider, LocaleConfig, QuestionCacheConfig,
+        QuestionsDirectoryProvider, OutputConfig, MessageCacheConfig,
+        ResultLogConfig, MetricsConfig, SessionConfig {
 
     @Getter
     private int rightAnswersCountToPass;
 
+    @Getter
+    private int questionsPerTest;
+
+    @Getter
+    private boolean adaptiveTesting;
+
     @Getter
     private Locale locale;
 
     private Map<String, String> fileNameByLocaleTag;
 
+    @Getter
+    private int questionCacheMaxSize;
+
+    @Getter
+    private boolean questionBanksPreloaded;
+
+    @Getter
+    private String questionsDirectory;
+
+    @Getter
+    private boolean bufferedOutput;
+
+    @Getter
+    private boolean messageCacheStatsEnabled;
+
+    @Getter
+    private String resultLogFile;
+
+    @Getter
+    private int resultLogMaxSessionsPerStudent;
+
+    @Getter
+    private int resultLogCompactionIntervalSeconds;
+
+    @Getter
+    private boolean latencyMetricsEnabled;
+
+    @Getter
+    private int latencyMetricsLogIntervalSeconds;
+
+    @Getter
+    private int maxConcurrentSessions;
+
+    @Getter
+    private int sessionQueueCapacity;
+
+    @Getter
+    private int sessionReadTimeoutSeconds;
+
     public void setLocale(String locale) {
         this.locale = Locale.forLanguageTag(locale);
     }
 
     @Override
     public String getTestFileName() {
+        return getTestFileName(locale);
+    }
+
+    @Override
+    public String getTestFileName(Locale locale) {
         return fileNameByLocaleTag.get(locale.toLanguageTag());
     }
 
+    @Override
+    public Collection<String> getTestFileNames() {
+        return Set.copyOf(fileNameByLocaleTag.values());
+    }
+
+    @Override
+    public Set<Locale> getSupportedLocales() {
+        return fileNameByLocaleTag.keySet().stream()
+                .map(Locale::forLanguageTag)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
 
 }
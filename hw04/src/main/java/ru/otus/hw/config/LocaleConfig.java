@@ -1,7 +1,12 @@
 package ru.otus.hw.config;
 
 import java.util.Locale;
+import java.util.Set;
 
 public interface LocaleConfig {
     Locale getLocale();
+
+    default Set<Locale> getSupportedLocales() {
+        return Set.of(getLocale());
+    }
 }
@@ -0,0 +1,5 @@
+package ru.otus.hw.config;
+
+public interface OutputConfig {
+    boolean isBufferedOutput();
+}
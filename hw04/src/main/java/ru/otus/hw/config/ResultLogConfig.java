@@ -0,0 +1,9 @@
+package ru.otus.hw.config;
+
+public interface ResultLogConfig {
+    String getResultLogFile();
+
+    int getResultLogMaxSessionsPerStudent();
+
+    int getResultLogCompactionIntervalSeconds();
+}
@@ -0,0 +1,9 @@
+package ru.otus.hw.config;
+
+public interface SessionConfig {
+    int getMaxConcurrentSessions();
+
+    int getSessionQueueCapacity();
+
+    int getSessionReadTimeoutSeconds();
+}
@@ -1,5 +1,17 @@
 package ru.otus.hw.config;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
 public interface TestFileNameProvider {
     String getTestFileName();
+
+    default String getTestFileName(Locale locale) {
+        return getTestFileName();
+    }
+
+    default Collection<String> getTestFileNames() {
+        return List.of(getTestFileName());
+    }
 }
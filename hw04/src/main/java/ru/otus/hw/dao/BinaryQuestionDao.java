@@ -0,0 +1,48 @@
+package ru.otus.hw.dao;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.otus.hw.config.TestFileNameProvider;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.exceptions.QuestionReadException;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+@Component
+@Qualifier(CachingQuestionDao.QUESTION_SOURCE)
+@ConditionalOnProperty(prefix = "test", name = "question-source", havingValue = "binary")
+public class BinaryQuestionDao implements QuestionDao {
+
+    private final TestFileNameProvider fileNameProvider;
+
+    @Override
+    public List<Question> findAll() {
+        try (var questions = streamAll()) {
+            return questions.toList();
+        }
+    }
+
+    @Override
+    public Stream<Question> streamAll() {
+        return streamAll(fileNameProvider.getTestFileName());
+    }
+
+    @Override
+    public Stream<Question> streamAll(String csvFileName) {
+        String fileName = QuestionBankCodec.binaryFileName(csvFileName);
+
+        try (var inputStream = getClass().getClassLoader().getResourceAsStream(fileName)) {
+            if (inputStream == null) {
+                throw new QuestionReadException("File not found: " + fileName);
+            }
+            return QuestionBankCodec.read(inputStream.readAllBytes());
+        } catch (IOException e) {
+            throw new QuestionReadException("Error while reading question bank: " + fileName, e);
+        }
+    }
+}
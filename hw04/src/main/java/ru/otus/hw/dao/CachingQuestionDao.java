@@ -0,0 +1,265 @@
+package ru.otus.hw.dao;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import ru.otus.hw.config.QuestionCacheConfig;
+import ru.otus.hw.config.TestFileNameProvider;
+import ru.otus.hw.domain.IndexedQuestion;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.metrics.LatencyMetrics;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+@Slf4j
+@Primary
+@Component
+public class CachingQuestionDao implements QuestionDao {
+
+    public static final String QUESTION_SOURCE = "questionSource";
+
+    private final QuestionDao delegate;
+
+    private final TestFileNameProvider fileNameProvider;
+
+    private final QuestionCacheConfig cacheConfig;
+
+    private final LatencyMetrics latencyMetrics;
+
+    private final Map<String, List<Question>> cache;
+
+    // Invalidations so far, guarded by the cache: a bank read before an invalidation of its file is not kept
+    private final Map<String, Long> invalidations = new HashMap<>();
+
+    private long allInvalidations;
+
+    // Banks parsed at startup: an immutable map replaced as a whole, read without locking and never evicted
+    private volatile Map<String, List<Question>> preloaded = Collections.emptyMap();
+
+    public CachingQuestionDao(@Qualifier(QUESTION_SOURCE) QuestionDao delegate,
+                              TestFileNameProvider fileNameProvider,
+                              QuestionCacheConfig cacheConfig,
+                              LatencyMetrics latencyMetrics) {
+        this.delegate = delegate;
+        this.fileNameProvider = fileNameProvider;
+        this.cacheConfig = cacheConfig;
+        this.latencyMetrics = latencyMetrics;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<Question>> eldest) {
+                return size() > cacheConfig.getQuestionCacheMaxSize();
+            }
+        };
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void preloadOnStartup() {
+        if (cacheConfig.isQuestionBanksPreloaded()) {
+            preload(fileNameProvider.getTestFileNames());
+        }
+    }
+
+    /**
+     * Parses the given banks in parallel on the common fork-join pool and keeps them for the application
+     * lifetime. A bank that fails to parse is skipped and read lazily, so the error shows up in the session.
+     */
+    public void preload(Collection<String> fileNames) {
+        long start = System.nanoTime();
+        var generations = new HashMap<String, Long>();
+        synchronized (cache) {
+            fileNames.forEach(fileName -> generations.put(fileName, generation(fileName)));
+        }
+        var tasks = new LinkedHashMap<String, ForkJoinTask<List<Question>>>();
+        for (var fileName : fileNames) {
+            tasks.put(fileName, ForkJoinPool.commonPool().submit(() -> load(fileName)));
+        }
+
+        var loaded = new HashMap<String, List<Question>>();
+        tasks.forEach((fileName, task) -> {
+            try {
+                loaded.put(fileName, task.join());
+            } catch (RuntimeException e) {
+                log.warn("Question bank {} was not preloaded", fileName, e);
+            }
+        });
+        synchronized (cache) {
+            var banks = new HashMap<>(preloaded);
+            loaded.forEach((fileName, questions) -> {
+                if (generations.get(fileName) == generation(fileName)) {
+                    banks.put(fileName, questions);
+                }
+            });
+            preloaded = Collections.unmodifiableMap(banks);
+        }
+        log.info("{} question banks preloaded in {} ms", tasks.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public List<Question> findAll() {
+        return findAll(fileNameProvider.getTestFileName());
+    }
+
+    @Override
+    public List<Question> findAll(String fileName) {
+        long start = latencyMetrics.start();
+        var questions = findCachedOrLoad(fileName);
+        latencyMetrics.stop(LatencyMetrics.QUESTIONS_FIND_ALL, start);
+        return questions;
+    }
+
+    private List<Question> findCachedOrLoad(String fileName) {
+        var questions = preloaded.get(fileName);
+        if (questions != null) {
+            return questions;
+        }
+        if (cacheConfig.getQuestionCacheMaxSize() <= 0) {
+            return load(fileName);
+        }
+
+        long generation;
+        synchronized (cache) {
+            questions = cache.get(fileName);
+            if (questions != null) {
+                return questions;
+            }
+            generation = generation(fileName);
+        }
+
+        questions = load(fileName);
+        synchronized (cache) {
+            if (generation == generation(fileName)) {
+                cache.put(fileName, questions);
+            }
+        }
+        return questions;
+    }
+
+    // Both counters only grow, so their sum changes with every invalidation that concerns the file
+    private long generation(String fileName) {
+        return allInvalidations + invalidations.getOrDefault(fileName, 0L);
+    }
+
+    private List<Question> load(String fileName) {
+        long start = latencyMetrics.start();
+        var questions = List.copyOf(delegate.findAll(fileName));
+        latencyMetrics.stop(LatencyMetrics.QUESTIONS_LOAD, start);
+        return questions;
+    }
+
+    @Override
+    public Stream<Question> streamAll() {
+        return streamAll(fileNameProvider.getTestFileName());
+    }
+
+    /**
+     * Reads from the source lazily only while the cache is off: with the cache on, the whole bank is read
+     * and kept on the first call, so the next sessions don't parse the file again.
+     */
+    @Override
+    public Stream<Question> streamAll(String fileName) {
+        if (cacheConfig.getQuestionCacheMaxSize() <= 0 && !preloaded.containsKey(fileName)) {
+            long start = latencyMetrics.start();
+            var questions = delegate.streamAll(fileName);
+            latencyMetrics.stop(LatencyMetrics.QUESTIONS_STREAM_OPEN, start);
+            return latencyMetrics.isEnabled() ? timed(questions) : questions;
+        }
+        return findAll(fileName).stream();
+    }
+
+    // Times each read of the source alone: the stream is consumed between the student's answers
+    private Stream<Question> timed(Stream<Question> questions) {
+        var source = questions.iterator();
+        var iterator = new Iterator<Question>() {
+            @Override
+            public boolean hasNext() {
+                long start = latencyMetrics.start();
+                boolean hasNext = source.hasNext();
+                latencyMetrics.stop(LatencyMetrics.QUESTIONS_STREAM_NEXT, start);
+                return hasNext;
+            }
+
+            @Override
+            public Question next() {
+                return source.next();
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(questions::close);
+    }
+
+    @Override
+    public List<IndexedQuestion> sample(int count, long seed) {
+        return sample(fileNameProvider.getTestFileName(), count, seed);
+    }
+
+    // A bank already in memory is sampled there, otherwise a source that picks questions by index
+    // is not made to read and keep the whole bank
+    @Override
+    public List<IndexedQuestion> sample(String fileName, int count, long seed) {
+        long start = latencyMetrics.start();
+        List<IndexedQuestion> questions;
+        if (!preloaded.containsKey(fileName) && !isCached(fileName)
+                && (cacheConfig.getQuestionCacheMaxSize() <= 0 || delegate.isSamplingNative())) {
+            questions = delegate.sample(fileName, count, seed);
+        } else {
+            questions = QuestionDao.super.sample(fileName, count, seed);
+        }
+        latencyMetrics.stop(LatencyMetrics.QUESTIONS_SAMPLE, start);
+        return questions;
+    }
+
+    private boolean isCached(String fileName) {
+        synchronized (cache) {
+            return cache.containsKey(fileName);
+        }
+    }
+
+    // The source first: a bank read from it in between is not cached, as the generation changes after
+    @Override
+    public void invalidate(String fileName) {
+        delegate.invalidate(fileName);
+        synchronized (cache) {
+            invalidations.merge(fileName, 1L, Long::sum);
+            cache.remove(fileName);
+            if (preloaded.containsKey(fileName)) {
+                var banks = new HashMap<>(preloaded);
+                banks.remove(fileName);
+                preloaded = Collections.unmodifiableMap(banks);
+            }
+        }
+    }
+
+    // Before the listeners that reload the bank through this DAO
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener
+    public void onQuestionBankChanged(QuestionBankChangedEvent event) {
+        invalidate(event.fileName());
+    }
+
+    @Override
+    public void invalidateAll() {
+        delegate.invalidateAll();
+        synchronized (cache) {
+            allInvalidations++;
+            cache.clear();
+            preloaded = Collections.emptyMap();
+        }
+    }
+}
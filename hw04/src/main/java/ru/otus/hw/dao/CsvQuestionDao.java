@@ -2,6 +2,8 @@ package ru.otus.hw.dao;
 
 import com.opencsv.bean.CsvToBeanBuilder;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 import ru.otus.hw.config.TestFileNameProvider;
 import ru.otus.hw.dao.dto.QuestionDto;
@@ -11,39 +13,94 @@ import ru.otus.hw.exceptions.QuestionReadException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @RequiredArgsConstructor
 @Component
+@Qualifier(CachingQuestionDao.QUESTION_SOURCE)
+@ConditionalOnProperty(prefix = "test", name = "question-source", havingValue = "opencsv", matchIfMissing = true)
 public class CsvQuestionDao implements QuestionDao {
 
     private final TestFileNameProvider fileNameProvider;
 
     @Override
     public List<Question> findAll() {
-        String fileName = fileNameProvider.getTestFileName();
+        try (var questions = streamAll()) {
+            return questions.toList();
+        }
+    }
+
+    @Override
+    public Stream<Question> streamAll() {
+        return streamAll(fileNameProvider.getTestFileName());
+    }
 
+    @Override
+    public Stream<Question> streamAll(String fileName) {
         InputStream inputStream = getClass().getClassLoader().getResourceAsStream(fileName);
 
         if (inputStream == null) {
             throw new QuestionReadException("File not found: " + fileName);
         }
 
-        try (var reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
-
-            return new CsvToBeanBuilder<QuestionDto>(reader)
-                    .withType(QuestionDto.class)
-                    .withSkipLines(1)
-                    .withSeparator(';')
-                    .withIgnoreLeadingWhiteSpace(true)
-                    .build()
-                    .parse()
-                    .stream()
-                    .map(QuestionDto::toDomainObject)
-                    .toList();
+        var reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8);
+        try {
+            return read(reader, fileName).onClose(() -> close(reader, fileName));
+        } catch (RuntimeException e) {
+            close(reader, fileName);
+            throw new QuestionReadException("Error while reading or parsing CSV file: " + fileName, e);
+        }
+    }
+
+    public Stream<Question> read(Reader reader) {
+        return read(reader, "<reader>");
+    }
+
+    // OpenCSV parses a line per step, so errors in the middle of the file come from the iterator
+    private Stream<Question> read(Reader reader, String fileName) {
+        var source = new CsvToBeanBuilder<QuestionDto>(reader)
+                .withType(QuestionDto.class)
+                .withSkipLines(1)
+                .withSeparator(';')
+                .withIgnoreLeadingWhiteSpace(true)
+                .build()
+                .iterator();
+        var iterator = new Iterator<Question>() {
+            @Override
+            public boolean hasNext() {
+                try {
+                    return source.hasNext();
+                } catch (RuntimeException e) {
+                    throw new QuestionReadException("Error while reading or parsing CSV file: " + fileName, e);
+                }
+            }
+
+            @Override
+            public Question next() {
+                try {
+                    return source.next().toDomainObject();
+                } catch (RuntimeException e) {
+                    throw new QuestionReadException("Error while reading or parsing CSV file: " + fileName, e);
+                }
+            }
+        };
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    private void close(Reader reader, String fileName) {
+        try {
+            reader.close();
         } catch (IOException e) {
-            throw new QuestionReadException("Error while reading or parsing CSV file: " + fileName);
+            throw new QuestionReadException("Error while reading or parsing CSV file: " + fileName, e);
         }
     }
 }
@@ -0,0 +1,51 @@
+package ru.otus.hw.dao;
+
+import lombok.RequiredArgsConstructor;
+import ru.otus.hw.domain.IndexedQuestion;
+import ru.otus.hw.domain.Question;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+class FileBoundQuestionDao implements QuestionDao {
+
+    private final QuestionDao delegate;
+
+    private final String fileName;
+
+    @Override
+    public List<Question> findAll() {
+        return delegate.findAll(fileName);
+    }
+
+    @Override
+    public Stream<Question> streamAll() {
+        return delegate.streamAll(fileName);
+    }
+
+    @Override
+    public List<IndexedQuestion> sample(int count, long seed) {
+        return delegate.sample(fileName, count, seed);
+    }
+
+    @Override
+    public boolean isSamplingNative() {
+        return delegate.isSamplingNative();
+    }
+
+    @Override
+    public List<Question> findAll(String otherFileName) {
+        return delegate.findAll(otherFileName);
+    }
+
+    @Override
+    public Stream<Question> streamAll(String otherFileName) {
+        return delegate.streamAll(otherFileName);
+    }
+
+    @Override
+    public List<IndexedQuestion> sample(String otherFileName, int count, long seed) {
+        return delegate.sample(otherFileName, count, seed);
+    }
+}
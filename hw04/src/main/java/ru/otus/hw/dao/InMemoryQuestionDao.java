@@ -0,0 +1,33 @@
+package ru.otus.hw.dao;
+
+import lombok.RequiredArgsConstructor;
+import ru.otus.hw.domain.Question;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+class InMemoryQuestionDao implements QuestionDao {
+
+    private final List<Question> questions;
+
+    @Override
+    public List<Question> findAll() {
+        return questions;
+    }
+
+    @Override
+    public Stream<Question> streamAll() {
+        return questions.stream();
+    }
+
+    @Override
+    public List<Question> findAll(String fileName) {
+        return questions;
+    }
+
+    @Override
+    public Stream<Question> streamAll(String fileName) {
+        return questions.stream();
+    }
+}
@@ -0,0 +1,527 @@
+package ru.otus.hw.dao;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import ru.otus.hw.config.ResultLogConfig;
+import ru.otus.hw.domain.SessionRecord;
+import ru.otus.hw.domain.TestResult;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+/**
+ * Session results in an append-only file: a header, then records of payload length, CRC32 and payload.
+ * A single writer thread appends everything queued so far and syncs once per batch. Offsets and right
+ * answer counts are indexed in memory by student, so pass rates never touch the file. The compactor
+ * rewrites the file keeping only the latest sessions of every student.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class LogTestResultDao implements TestResultDao {
+
+    private static final int MAGIC = 0x51524C47;
+
+    private static final int VERSION = 2;
+
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+
+    private static final int RECORD_HEADER_SIZE = 2 * Integer.BYTES;
+
+    private static final int MAX_RECORD_SIZE = 1 << 20;
+
+    private static final int MAX_BATCH_SIZE = 1024;
+
+    private final ResultLogConfig resultLogConfig;
+
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+
+    // Appends and reads share the channel, compaction swaps it exclusively
+    private final ReadWriteLock channelLock = new ReentrantReadWriteLock();
+
+    private final Object compactionLock = new Object();
+
+    private Path file;
+
+    private volatile FileChannel channel;
+
+    private volatile Index index = new Index();
+
+    private volatile long end;
+
+    private volatile boolean running;
+
+    private Thread writer;
+
+    private ScheduledExecutorService compactor;
+
+    @PostConstruct
+    public void open() {
+        if (!StringUtils.hasText(resultLogConfig.getResultLogFile())) {
+            return;
+        }
+        file = Path.of(resultLogConfig.getResultLogFile());
+        try {
+            channel = openChannel(file);
+            end = channel.size() == 0 ? writeHeader(channel) : load(channel, index);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open result log " + file, e);
+        }
+
+        running = true;
+        writer = new Thread(this::writeQueued, "result-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+
+        int interval = resultLogConfig.getResultLogCompactionIntervalSeconds();
+        if (interval > 0) {
+            compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                var thread = new Thread(runnable, "result-log-compactor");
+                thread.setDaemon(true);
+                return thread;
+            });
+            compactor.scheduleWithFixedDelay(this::compactQuietly, interval, interval, TimeUnit.SECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException, IOException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        if (compactor != null) {
+            compactor.shutdown();
+        }
+        // The writer drains the queue and stops on its own, the channel must outlive its last append
+        writer.join();
+        failQueued(new IllegalStateException("Result log is closed"));
+        synchronized (compactionLock) {
+            channel.close();
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> save(SessionRecord sessionRecord) {
+        if (file == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (!running) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Result log is closed"));
+        }
+        ByteBuffer encoded;
+        try {
+            encoded = encode(sessionRecord);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        var pendingWrite = new PendingWrite(sessionRecord, encoded, new CompletableFuture<>());
+        queue.add(pendingWrite);
+        return pendingWrite.done;
+    }
+
+    @Override
+    public List<SessionRecord> findByStudent(String studentFullName) {
+        channelLock.readLock().lock();
+        try {
+            var sessions = index.byStudent.get(studentFullName);
+            if (sessions == null) {
+                return List.of();
+            }
+            var records = new ArrayList<SessionRecord>(sessions.size());
+            for (long offset : sessions.offsets()) {
+                records.add(decode(readRecord(channel, offset)));
+            }
+            return records;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read result log " + file, e);
+        } finally {
+            channelLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public PassRate getPassRate(String studentFullName, int rightAnswersCountToPass) {
+        var currentIndex = index;
+        if (studentFullName == null) {
+            return currentIndex.getPassRate(rightAnswersCountToPass);
+        }
+        var sessions = currentIndex.byStudent.get(studentFullName);
+        return sessions == null ? new PassRate(0, 0) : sessions.getPassRate(rightAnswersCountToPass);
+    }
+
+    @Override
+    public void compact() {
+        int maxSessions = resultLogConfig.getResultLogMaxSessionsPerStudent();
+        if (file == null || maxSessions <= 0) {
+            return;
+        }
+        synchronized (compactionLock) {
+            if (!running) {
+                return;
+            }
+            try {
+                compact(maxSessions);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to compact result log " + file, e);
+            }
+        }
+    }
+
+    private void compactQuietly() {
+        try {
+            compact();
+        } catch (RuntimeException e) {
+            log.error("Result log compaction failed", e);
+        }
+    }
+
+    // Records up to the snapshot are copied without blocking appends, the tail written meanwhile is copied
+    // under the exclusive lock right before the files are swapped
+    private void compact(int maxSessions) throws IOException {
+        long snapshotEnd = end;
+        long recordsCount = 0;
+        var kept = new long[16];
+        int keptCount = 0;
+        for (var sessions : index.byStudent.values()) {
+            var offsets = sessions.offsets();
+            int count = 0;
+            while (count < offsets.length && offsets[count] < snapshotEnd) {
+                count++;
+            }
+            recordsCount += count;
+            int from = Math.max(0, count - maxSessions);
+            if (keptCount + count - from > kept.length) {
+                kept = Arrays.copyOf(kept, Math.max(kept.length * 2, keptCount + count - from));
+            }
+            System.arraycopy(offsets, from, kept, keptCount, count - from);
+            keptCount += count - from;
+        }
+        if (keptCount == recordsCount) {
+            return;
+        }
+        Arrays.sort(kept, 0, keptCount);
+
+        var compacted = file.resolveSibling(file.getFileName() + ".compacting");
+        var out = FileChannel.open(compacted, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            var compactedIndex = new Index();
+            long position = writeHeader(out);
+            for (int i = 0; i < keptCount; i++) {
+                position += copyRecord(channel, kept[i], out, position, compactedIndex);
+            }
+
+            channelLock.writeLock().lock();
+            try {
+                for (long offset = snapshotEnd; offset < end; ) {
+                    long copied = copyRecord(channel, offset, out, position, compactedIndex);
+                    offset += copied;
+                    position += copied;
+                }
+                out.force(true);
+                // Windows neither replaces nor renames open files, so both are closed around the swap
+                out.close();
+                channel.close();
+                try {
+                    Files.move(compacted, file, StandardCopyOption.ATOMIC_MOVE,
+                            StandardCopyOption.REPLACE_EXISTING);
+                } finally {
+                    channel = openChannel(file);
+                }
+                index = compactedIndex;
+                end = position;
+            } finally {
+                channelLock.writeLock().unlock();
+            }
+            log.info("Result log compacted: {} of {} sessions kept", compactedIndex.sessionsCount, recordsCount);
+        } catch (IOException | RuntimeException e) {
+            out.close();
+            Files.deleteIfExists(compacted);
+            throw e;
+        }
+    }
+
+    // Saves queued after the writer has stopped
+    private void failQueued(RuntimeException e) {
+        PendingWrite pendingWrite;
+        while ((pendingWrite = queue.poll()) != null) {
+            pendingWrite.done.completeExceptionally(e);
+        }
+    }
+
+    private void writeQueued() {
+        var batch = new ArrayList<PendingWrite>();
+        while (running || !queue.isEmpty()) {
+            PendingWrite first;
+            try {
+                first = queue.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (first == null) {
+                continue;
+            }
+            batch.add(first);
+            queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+            try {
+                append(batch);
+                batch.forEach(pendingWrite -> pendingWrite.done.complete(null));
+            } catch (IOException | RuntimeException e) {
+                log.error("Unable to append {} results to {}", batch.size(), file, e);
+                batch.forEach(pendingWrite -> pendingWrite.done.completeExceptionally(e));
+            }
+            batch.clear();
+        }
+    }
+
+    private void append(List<PendingWrite> batch) throws IOException {
+        channelLock.readLock().lock();
+        try {
+            var buffers = new ByteBuffer[batch.size()];
+            var offsets = new long[batch.size()];
+            long position = end;
+            for (int i = 0; i < buffers.length; i++) {
+                buffers[i] = batch.get(i).bytes;
+                offsets[i] = position;
+                position += buffers[i].remaining();
+            }
+            channel.position(end);
+            while (buffers[buffers.length - 1].hasRemaining()) {
+                channel.write(buffers);
+            }
+            channel.force(false);
+            // Indexed before the end moves, so the compactor sees every record below the end it reads
+            var currentIndex = index;
+            for (int i = 0; i < offsets.length; i++) {
+                var testResult = batch.get(i).sessionRecord.testResult();
+                currentIndex.add(testResult.getStudent().getFullName(), offsets[i], testResult.getRightAnswersCount());
+            }
+            end = position;
+        } finally {
+            channelLock.readLock().unlock();
+        }
+    }
+
+    // Returns the number of bytes copied
+    private static long copyRecord(FileChannel from, long offset, FileChannel to, long position, Index index)
+            throws IOException {
+        var payload = readRecord(from, offset);
+        var testResult = decode(payload.duplicate()).testResult();
+        var header = ByteBuffer.allocate(RECORD_HEADER_SIZE).putInt(payload.remaining()).putInt(crc(payload));
+        var buffers = new ByteBuffer[]{header.flip(), payload};
+        to.position(position);
+        while (payload.hasRemaining()) {
+            to.write(buffers);
+        }
+        index.add(testResult.getStudent().getFullName(), position, testResult.getRightAnswersCount());
+        return RECORD_HEADER_SIZE + payload.limit();
+    }
+
+    private static FileChannel openChannel(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private static long writeHeader(FileChannel channel) throws IOException {
+        var header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).flip();
+        channel.write(header, 0);
+        channel.force(true);
+        return HEADER_SIZE;
+    }
+
+    // Returns the end of the last complete record, a torn or corrupted tail is cut off
+    private long load(FileChannel channel, Index index) throws IOException {
+        var input = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel.position(0)),
+                1 << 16));
+        if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+            throw new IOException("Not a result log: " + file);
+        }
+        long position = HEADER_SIZE;
+        var payload = new byte[256];
+        try {
+            while (true) {
+                int length = input.readInt();
+                int crc = input.readInt();
+                if (length < 0 || length > MAX_RECORD_SIZE) {
+                    break;
+                }
+                if (payload.length < length) {
+                    payload = new byte[Math.max(length, payload.length * 2)];
+                }
+                input.readFully(payload, 0, length);
+                var buffer = ByteBuffer.wrap(payload, 0, length);
+                if (crc(buffer.duplicate()) != crc) {
+                    break;
+                }
+                var testResult = decode(buffer).testResult();
+                index.add(testResult.getStudent().getFullName(), position, testResult.getRightAnswersCount());
+                position += RECORD_HEADER_SIZE + length;
+            }
+        } catch (EOFException e) {
+            log.trace("End of result log {}", file);
+        }
+        if (position < channel.size()) {
+            log.warn("Result log {} has a broken tail after {} bytes, it is truncated", file, position);
+            channel.truncate(position);
+        }
+        return position;
+    }
+
+    private static ByteBuffer readRecord(FileChannel channel, long offset) throws IOException {
+        var header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        readFully(channel, header, offset);
+        var payload = ByteBuffer.allocate(header.flip().getInt());
+        readFully(channel, payload, offset + RECORD_HEADER_SIZE);
+        return payload.flip();
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of result log");
+            }
+        }
+    }
+
+    // A record over the limit would be taken for a broken tail on the next start, with everything after it
+    private static ByteBuffer encode(SessionRecord sessionRecord) {
+        var testResult = sessionRecord.testResult();
+        var locale = bytes(sessionRecord.locale().toLanguageTag());
+        long length = (long) Long.BYTES + Integer.BYTES + locale.length + testResult.getRecordSize();
+        if (length > MAX_RECORD_SIZE) {
+            throw new IllegalArgumentException("Session takes %d bytes, more than %d bytes allowed in the result log"
+                    .formatted(length, MAX_RECORD_SIZE));
+        }
+        var buffer = ByteBuffer.allocate(RECORD_HEADER_SIZE + (int) length);
+        buffer.position(RECORD_HEADER_SIZE);
+        buffer.putLong(sessionRecord.timestamp());
+        buffer.putInt(locale.length).put(locale);
+        testResult.writeTo(buffer);
+        int crc = crc(buffer.flip().position(RECORD_HEADER_SIZE));
+        return buffer.putInt(0, (int) length).putInt(Integer.BYTES, crc).position(0);
+    }
+
+    private static SessionRecord decode(ByteBuffer payload) {
+        long timestamp = payload.getLong();
+        var locale = Locale.forLanguageTag(string(payload));
+        return new SessionRecord(timestamp, locale, TestResult.readFrom(payload));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        var value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+                StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    private static int crc(ByteBuffer buffer) {
+        var crc = new CRC32();
+        crc.update(buffer.duplicate());
+        return (int) crc.getValue();
+    }
+
+    private record PendingWrite(SessionRecord sessionRecord, ByteBuffer bytes, CompletableFuture<Void> done) {
+    }
+
+    private static final class Index {
+
+        private final Map<String, StudentSessions> byStudent = new ConcurrentHashMap<>();
+
+        // guarded by this
+        private long[] sessionsByRightAnswers = new long[16];
+
+        private long sessionsCount;
+
+        void add(String student, long offset, int rightAnswersCount) {
+            byStudent.computeIfAbsent(student, s -> new StudentSessions()).add(offset, rightAnswersCount);
+            synchronized (this) {
+                if (rightAnswersCount >= sessionsByRightAnswers.length) {
+                    sessionsByRightAnswers = Arrays.copyOf(sessionsByRightAnswers, rightAnswersCount * 2);
+                }
+                sessionsByRightAnswers[rightAnswersCount]++;
+                sessionsCount++;
+            }
+        }
+
+        synchronized PassRate getPassRate(int rightAnswersCountToPass) {
+            long passed = 0;
+            for (int i = Math.max(rightAnswersCountToPass, 0); i < sessionsByRightAnswers.length; i++) {
+                passed += sessionsByRightAnswers[i];
+            }
+            return new PassRate(sessionsCount, passed);
+        }
+    }
+
+    private static final class StudentSessions {
+
+        private long[] offsets = new long[2];
+
+        private int[] rightAnswers = new int[2];
+
+        private int size;
+
+        synchronized void add(long offset, int rightAnswersCount) {
+            if (size == offsets.length) {
+                offsets = Arrays.copyOf(offsets, size * 2);
+                rightAnswers = Arrays.copyOf(rightAnswers, size * 2);
+            }
+            offsets[size] = offset;
+            rightAnswers[size] = rightAnswersCount;
+            size++;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized long[] offsets() {
+            return Arrays.copyOf(offsets, size);
+        }
+
+        synchronized PassRate getPassRate(int rightAnswersCountToPass) {
+            int passed = 0;
+            for (int i = 0; i < size; i++) {
+                if (rightAnswers[i] >= rightAnswersCountToPass) {
+                    passed++;
+                }
+            }
+            return new PassRate(size, passed);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package ru.otus.hw.dao;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.otus.hw.config.TestFileNameProvider;
+import ru.otus.hw.domain.IndexedQuestion;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.exceptions.QuestionReadException;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+@Component
+@Qualifier(CachingQuestionDao.QUESTION_SOURCE)
+@ConditionalOnProperty(prefix = "test", name = "question-source", havingValue = "mapped")
+public class MappedQuestionDao implements QuestionDao {
+
+    private final TestFileNameProvider fileNameProvider;
+
+    private final QuestionFileResolver fileResolver;
+
+    private final Map<String, MappedBank> banks = new ConcurrentHashMap<>();
+
+    @Override
+    public List<Question> findAll() {
+        try (var questions = streamAll()) {
+            return questions.toList();
+        }
+    }
+
+    @Override
+    public Stream<Question> streamAll() {
+        return streamAll(fileNameProvider.getTestFileName());
+    }
+
+    @Override
+    public Stream<Question> streamAll(String fileName) {
+        var bank = bank(fileName);
+        return IntStream.range(0, bank.size()).mapToObj(bank::decode);
+    }
+
+    @Override
+    public List<IndexedQuestion> sample(int count, long seed) {
+        return sample(fileNameProvider.getTestFileName(), count, seed);
+    }
+
+    @Override
+    public List<IndexedQuestion> sample(String fileName, int count, long seed) {
+        var bank = bank(fileName);
+        var random = new Random(seed);
+        var indexes = new ArrayList<>(chooseIndexes(bank.size(), Math.min(count, bank.size()), random));
+        Collections.shuffle(indexes, random);
+        return indexes.stream().map(index -> new IndexedQuestion(index, bank.decode(index))).toList();
+    }
+
+    @Override
+    public boolean isSamplingNative() {
+        return true;
+    }
+
+    public Question findByIndex(int index) {
+        return currentBank().decode(index);
+    }
+
+    public int count() {
+        return currentBank().size();
+    }
+
+    // The mapping keeps the line offsets of the file as it was, a changed file has to be mapped again
+    @Override
+    public void invalidate(String fileName) {
+        banks.remove(fileName);
+    }
+
+    @Override
+    public void invalidateAll() {
+        banks.clear();
+    }
+
+    private MappedBank currentBank() {
+        return bank(fileNameProvider.getTestFileName());
+    }
+
+    private MappedBank bank(String fileName) {
+        return banks.computeIfAbsent(fileName, name -> MappedBank.open(name, fileResolver.resolve(name)));
+    }
+
+    // Floyd's algorithm: count distinct indexes without materializing the whole range
+    private static Set<Integer> chooseIndexes(int size, int count, Random random) {
+        var chosen = new HashSet<Integer>(count * 2);
+        for (int i = size - count; i < size; i++) {
+            int candidate = random.nextInt(i + 1);
+            if (!chosen.add(candidate)) {
+                chosen.add(i);
+            }
+        }
+        return chosen;
+    }
+
+    private record MappedBank(String fileName, MappedByteBuffer buffer, long[] offsets, int size) {
+
+        static MappedBank open(String fileName, Path file) {
+            try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                if (channel.size() > Integer.MAX_VALUE) {
+                    throw new QuestionReadException("Question file is too large to be mapped: " + fileName);
+                }
+                var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                var offsets = indexLines(buffer);
+                return new MappedBank(fileName, buffer, offsets, offsets.length - 1);
+            } catch (IOException e) {
+                throw new QuestionReadException("Error while mapping question file: " + fileName, e);
+            }
+        }
+
+        // offsets[i] is the start of question row i, the last element is the end of the last row;
+        // the header line and blank lines are left out
+        private static long[] indexLines(MappedByteBuffer buffer) {
+            int limit = buffer.limit();
+            long[] offsets = new long[1024];
+            int count = 0;
+            int lineStart = skipHeader(buffer);
+            for (int i = lineStart; i <= limit; i++) {
+                if (i == limit || buffer.get(i) == '\n') {
+                    if (!isBlank(buffer, lineStart, i)) {
+                        if (count + 2 > offsets.length) {
+                            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                        }
+                        offsets[count++] = lineStart;
+                        offsets[count] = i;
+                    }
+                    lineStart = i + 1;
+                }
+            }
+            return count == 0 ? new long[]{0} : Arrays.copyOf(offsets, count + 1);
+        }
+
+        private static int skipHeader(MappedByteBuffer buffer) {
+            for (int i = 0; i < buffer.limit(); i++) {
+                if (buffer.get(i) == '\n') {
+                    return i + 1;
+                }
+            }
+            return buffer.limit();
+        }
+
+        private static boolean isBlank(MappedByteBuffer buffer, int from, int to) {
+            for (int i = from; i < to; i++) {
+                if (!Character.isWhitespace(buffer.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        Question decode(int index) {
+            Objects.checkIndex(index, size);
+            int from = (int) offsets[index];
+            var bytes = new byte[(int) offsets[index + 1] - from];
+            buffer.get(from, bytes);
+            try {
+                return QuestionCsvParser.parseLine(new String(bytes, StandardCharsets.UTF_8));
+            } catch (QuestionReadException e) {
+                throw new QuestionReadException("Malformed question #" + (index + 1) + " in " + fileName, e);
+            }
+        }
+    }
+}
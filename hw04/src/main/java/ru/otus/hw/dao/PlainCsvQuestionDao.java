@@ -0,0 +1,67 @@
+package ru.otus.hw.dao;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.otus.hw.config.TestFileNameProvider;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.exceptions.QuestionReadException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+@Component
+@Qualifier(CachingQuestionDao.QUESTION_SOURCE)
+@ConditionalOnProperty(prefix = "test", name = "question-source", havingValue = "plain")
+public class PlainCsvQuestionDao implements QuestionDao {
+
+    private final TestFileNameProvider fileNameProvider;
+
+    @Override
+    public List<Question> findAll() {
+        try (var questions = streamAll()) {
+            return questions.toList();
+        }
+    }
+
+    @Override
+    public Stream<Question> streamAll() {
+        return streamAll(fileNameProvider.getTestFileName());
+    }
+
+    @Override
+    public Stream<Question> streamAll(String fileName) {
+        InputStream inputStream = getClass().getClassLoader().getResourceAsStream(fileName);
+
+        if (inputStream == null) {
+            throw new QuestionReadException("File not found: " + fileName);
+        }
+
+        var reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8);
+        try {
+            return read(reader).onClose(() -> close(reader, fileName));
+        } catch (RuntimeException e) {
+            close(reader, fileName);
+            throw e;
+        }
+    }
+
+    public Stream<Question> read(Reader reader) {
+        return new QuestionCsvParser(reader, 1).stream();
+    }
+
+    private void close(Reader reader, String fileName) {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            throw new QuestionReadException("Error while reading or parsing CSV file: " + fileName, e);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package ru.otus.hw.dao;
+
+public record QuestionBankChangedEvent(String fileName) {
+}
@@ -0,0 +1,160 @@
+package ru.otus.hw.dao;
+
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.exceptions.QuestionReadException;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Binary question bank: {@code "QBNK"}, version byte, question count, then for every question
+ * its text, answer count, correctness flags packed eight per byte and answer texts.
+ * Strings are UTF-8 prefixed with their byte length, counts and lengths are unsigned varints.
+ */
+public final class QuestionBankCodec {
+
+    public static final String FILE_EXTENSION = ".qbank";
+
+    private static final int MAGIC = 0x51424E4B;
+
+    private static final int VERSION = 1;
+
+    private QuestionBankCodec() {
+    }
+
+    public static String binaryFileName(String csvFileName) {
+        int dot = csvFileName.lastIndexOf('.');
+        return (dot < 0 ? csvFileName : csvFileName.substring(0, dot)) + FILE_EXTENSION;
+    }
+
+    public static void write(List<Question> questions, OutputStream outputStream) throws IOException {
+        var out = new DataOutputStream(outputStream);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        writeVarInt(out, questions.size());
+        for (var question : questions) {
+            writeString(out, question.text());
+            var answers = question.answers();
+            writeVarInt(out, answers.size());
+            for (int i = 0; i < answers.size(); i += Byte.SIZE) {
+                int flags = 0;
+                for (int bit = 0; bit < Byte.SIZE && i + bit < answers.size(); bit++) {
+                    if (answers.get(i + bit).isCorrect()) {
+                        flags |= 1 << bit;
+                    }
+                }
+                out.writeByte(flags);
+            }
+            for (var answer : answers) {
+                writeString(out, answer.text());
+            }
+        }
+        out.flush();
+    }
+
+    public static Stream<Question> read(byte[] bank) {
+        var decoder = new Decoder(bank);
+        if (decoder.readInt() != MAGIC || decoder.readByte() != VERSION) {
+            throw new QuestionReadException("Unsupported question bank format");
+        }
+        int count = decoder.readVarInt();
+        var spliterator = new Spliterators.AbstractSpliterator<Question>(count,
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.SIZED) {
+            private int remaining = count;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super Question> action) {
+                if (remaining == 0) {
+                    return false;
+                }
+                remaining--;
+                action.accept(decoder.readQuestion());
+                return true;
+            }
+        };
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static final class Decoder {
+
+        private final byte[] bank;
+
+        private int position;
+
+        Decoder(byte[] bank) {
+            this.bank = bank;
+        }
+
+        Question readQuestion() {
+            var text = readString();
+            int answersCount = readVarInt();
+            int flagsPosition = position;
+            position += (answersCount + Byte.SIZE - 1) / Byte.SIZE;
+            var answers = new ArrayList<Answer>(answersCount);
+            for (int i = 0; i < answersCount; i++) {
+                boolean isCorrect = (bank[flagsPosition + i / Byte.SIZE] & (1 << (i % Byte.SIZE))) != 0;
+                answers.add(new Answer(readString(), isCorrect));
+            }
+            return new Question(text, answers);
+        }
+
+        int readByte() {
+            checkAvailable(1);
+            return bank[position++] & 0xFF;
+        }
+
+        int readInt() {
+            return readByte() << 24 | readByte() << 16 | readByte() << 8 | readByte();
+        }
+
+        int readVarInt() {
+            int value = 0;
+            for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+                int b = readByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new QuestionReadException("Malformed question bank: varint is too long");
+        }
+
+        String readString() {
+            int length = readVarInt();
+            checkAvailable(length);
+            var value = new String(bank, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        private void checkAvailable(int length) {
+            if (length < 0 || position + length > bank.length) {
+                throw new QuestionReadException("Malformed question bank: unexpected end of data");
+            }
+        }
+    }
+}
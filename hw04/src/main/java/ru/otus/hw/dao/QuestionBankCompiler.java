@@ -0,0 +1,37 @@
+package ru.otus.hw.dao;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Build step: compiles every {@code *.csv} question bank in the given directories
+ * into a {@link QuestionBankCodec} file next to it.
+ */
+public final class QuestionBankCompiler {
+
+    private QuestionBankCompiler() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        for (var directory : args) {
+            try (var files = Files.newDirectoryStream(Path.of(directory), "*.csv")) {
+                for (var csvFile : files) {
+                    compile(csvFile);
+                }
+            }
+        }
+    }
+
+    public static Path compile(Path csvFile) throws IOException {
+        var bankFile = csvFile.resolveSibling(QuestionBankCodec.binaryFileName(csvFile.getFileName().toString()));
+        try (var reader = Files.newBufferedReader(csvFile, StandardCharsets.UTF_8);
+             var questions = new QuestionCsvParser(reader, 1).stream();
+             OutputStream out = Files.newOutputStream(bankFile)) {
+            QuestionBankCodec.write(questions.toList(), out);
+        }
+        return bankFile;
+    }
+}
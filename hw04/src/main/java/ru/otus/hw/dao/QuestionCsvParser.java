@@ -0,0 +1,315 @@
+package ru.otus.hw.dao;
+
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.exceptions.QuestionReadException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Single pass parser for the {@code text;answer%bool|answer%bool} format.
+ * Fields are cut straight from the char buffer without regex splitting or reflection.
+ * Columns after the second one are ignored. A line with a quote or a backslash is split into columns
+ * the way OpenCSV does it with {@code withIgnoreLeadingWhiteSpace}, see {@link #columnsOf(String)}.
+ */
+public class QuestionCsvParser {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final int EOF = -1;
+
+    private final Reader reader;
+
+    private final char[] buffer;
+
+    private final StringBuilder field = new StringBuilder();
+
+    private int position;
+
+    private int limit;
+
+    private int lineNumber;
+
+    // Start of the current line in the buffer, the part of it read before the last fill is in lineHead
+    private int lineStart;
+
+    private final StringBuilder lineHead = new StringBuilder();
+
+    public QuestionCsvParser(Reader reader, int skipLines) {
+        this(reader, skipLines, BUFFER_SIZE);
+    }
+
+    private QuestionCsvParser(Reader reader, int skipLines, int bufferSize) {
+        this.reader = reader;
+        this.buffer = new char[bufferSize];
+        for (int i = 0; i < skipLines; i++) {
+            skipLine();
+        }
+        this.lineNumber = skipLines;
+    }
+
+    public static Question parseLine(String line) {
+        var question = new QuestionCsvParser(new StringReader(line), 0, Math.max(line.length(), 1)).next();
+        if (question == null) {
+            throw new QuestionReadException("Empty question line");
+        }
+        return question;
+    }
+
+    public Stream<Question> stream() {
+        var spliterator = new Spliterators.AbstractSpliterator<Question>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super Question> action) {
+                var question = next();
+                if (question == null) {
+                    return false;
+                }
+                action.accept(question);
+                return true;
+            }
+        };
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    public Question next() {
+        String text = null;
+        String answerText = null;
+        List<Answer> answers = new ArrayList<>();
+        field.setLength(0);
+        markLineStart();
+
+        while (true) {
+            int delimiter = readField();
+            if (delimiter == '\r') {
+                continue;
+            }
+            if (delimiter == '"' || delimiter == '\\') {
+                return nextQuoted();
+            }
+            if (delimiter == '\n' || delimiter == EOF) {
+                if (text == null && field.toString().isBlank()) {
+                    if (delimiter == EOF) {
+                        return null;
+                    }
+                    lineNumber++;
+                    field.setLength(0);
+                    markLineStart();
+                    continue;
+                }
+                if (answerText == null) {
+                    throw malformed();
+                }
+                lineNumber++;
+                answers.add(new Answer(answerText, isTrueFlag()));
+                return new Question(text, answers);
+            }
+
+            if (text == null) {
+                if (delimiter == ';') {
+                    text = takeField();
+                } else {
+                    field.append((char) delimiter);
+                }
+            } else if (answerText == null) {
+                if (delimiter != '%') {
+                    throw malformed();
+                }
+                answerText = takeField();
+            } else if (delimiter == '|') {
+                answers.add(new Answer(answerText, isTrueFlag()));
+                answerText = null;
+                field.setLength(0);
+            } else if (delimiter == ';') {
+                answers.add(new Answer(answerText, isTrueFlag()));
+                lineNumber++;
+                skipLine();
+                return new Question(text, answers);
+            } else {
+                field.append((char) delimiter);
+            }
+        }
+    }
+
+    private int readField() {
+        while (true) {
+            if (position == limit && !fill()) {
+                return EOF;
+            }
+            int start = position;
+            while (position < limit) {
+                char c = buffer[position];
+                if (c == ';' || c == '%' || c == '|' || c == '\n' || c == '\r' || c == '"' || c == '\\') {
+                    field.append(buffer, start, position - start);
+                    position++;
+                    return c;
+                }
+                position++;
+            }
+            field.append(buffer, start, position - start);
+        }
+    }
+
+    private Question nextQuoted() {
+        var line = new StringBuilder(lineHead).append(buffer, lineStart, position - lineStart);
+        var rest = readLine();
+        var columns = columnsOf(rest == null ? line.toString() : line.append(rest).toString());
+        if (columns.size() < 2) {
+            throw malformed();
+        }
+        var answers = new ArrayList<Answer>();
+        for (var answer : columns.get(1).split("\\|", -1)) {
+            int flag = answer.indexOf('%');
+            if (flag < 0) {
+                throw malformed();
+            }
+            field.setLength(0);
+            field.append(answer, flag + 1, answer.length());
+            answers.add(new Answer(answer.substring(0, flag), isTrueFlag()));
+        }
+        lineNumber++;
+        return new Question(columns.get(0), answers);
+    }
+
+    /**
+     * Columns of a line as OpenCSV's CSVParser splits them with {@code ;} separator, {@code "} quote,
+     * {@code \} escape and {@code withIgnoreLeadingWhiteSpace}: a quote toggles quoting and is dropped
+     * next to a separator, at either end of the line and within its first three chars, otherwise it is kept,
+     * unless the field so far is only whitespace, which is dropped instead. A doubled quote stands for one,
+     * a backslash keeps a quote, a separator or a backslash after it and is dropped otherwise.
+     * A quoted field goes on on the next lines.
+     */
+    private List<String> columnsOf(String firstLine) {
+        var columns = new ArrayList<String>();
+        var column = new StringBuilder();
+        boolean inQuotes = false;
+        boolean inField = false;
+        var line = firstLine;
+        while (true) {
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                boolean hasNext = i + 1 < line.length();
+                if (c == '\\') {
+                    inField = true;
+                    if (hasNext && isEscapable(line.charAt(i + 1))) {
+                        column.append(line.charAt(++i));
+                    }
+                } else if (c == '"') {
+                    if ((inQuotes || inField) && hasNext && line.charAt(i + 1) == '"') {
+                        column.append(line.charAt(++i));
+                    } else {
+                        inQuotes = !inQuotes;
+                        if (i > 2 && line.charAt(i - 1) != ';' && hasNext && line.charAt(i + 1) != ';') {
+                            if (!column.isEmpty() && column.toString().isBlank()) {
+                                column.setLength(0);
+                            } else {
+                                column.append(c);
+                            }
+                        }
+                    }
+                    inField = !inField;
+                } else if (c == ';' && !inQuotes) {
+                    columns.add(column.toString());
+                    column.setLength(0);
+                    inField = false;
+                } else {
+                    column.append(c);
+                    inField = true;
+                }
+            }
+            if (!inQuotes) {
+                columns.add(column.toString());
+                return columns;
+            }
+            line = readLine();
+            if (line == null) {
+                throw malformed();
+            }
+            lineNumber++;
+            column.append('\n');
+        }
+    }
+
+    private static boolean isEscapable(char c) {
+        return c == '"' || c == ';' || c == '\\';
+    }
+
+    // The rest of the current line without its line break, null at the end of input
+    private String readLine() {
+        if (position == limit && !fill()) {
+            return null;
+        }
+        field.setLength(0);
+        while (true) {
+            int delimiter = readField();
+            if (delimiter == '\n' || delimiter == EOF) {
+                int length = field.length();
+                return field.substring(0, length > 0 && field.charAt(length - 1) == '\r' ? length - 1 : length);
+            }
+            field.append((char) delimiter);
+        }
+    }
+
+    private void markLineStart() {
+        lineStart = position;
+        lineHead.setLength(0);
+    }
+
+    private void skipLine() {
+        while (true) {
+            if (position == limit && !fill()) {
+                return;
+            }
+            while (position < limit) {
+                if (buffer[position++] == '\n') {
+                    return;
+                }
+            }
+        }
+    }
+
+    private boolean fill() {
+        lineHead.append(buffer, lineStart, limit - lineStart);
+        lineStart = 0;
+        try {
+            int read = reader.read(buffer);
+            position = 0;
+            limit = Math.max(read, 0);
+            return read > 0;
+        } catch (IOException e) {
+            throw new QuestionReadException("Error while reading questions", e);
+        }
+    }
+
+    private String takeField() {
+        var value = field.toString();
+        field.setLength(0);
+        return value;
+    }
+
+    private boolean isTrueFlag() {
+        String expected = "true";
+        if (field.length() != expected.length()) {
+            return false;
+        }
+        for (int i = 0; i < expected.length(); i++) {
+            if (Character.toLowerCase(field.charAt(i)) != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private QuestionReadException malformed() {
+        return new QuestionReadException("Malformed question at line " + (lineNumber + 1));
+    }
+}
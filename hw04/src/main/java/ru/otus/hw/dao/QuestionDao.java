@@ -1,9 +1,85 @@
 package ru.otus.hw.dao;
 
+import ru.otus.hw.domain.IndexedQuestion;
 import ru.otus.hw.domain.Question;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
 
 public interface QuestionDao {
     List<Question> findAll();
+
+    /**
+     * Lazily reads questions one by one. The returned stream holds an open resource
+     * and must be closed by the caller (try-with-resources).
+     */
+    Stream<Question> streamAll();
+
+    /**
+     * Reads the bank stored in the given file, whatever the current locale is.
+     * The returned stream must be closed by the caller as well.
+     */
+    Stream<Question> streamAll(String fileName);
+
+    default List<Question> findAll(String fileName) {
+        try (var questions = streamAll(fileName)) {
+            return questions.toList();
+        }
+    }
+
+    /**
+     * Up to {@code count} distinct questions of the bank in random order, each with its position in the bank.
+     */
+    default List<IndexedQuestion> sample(int count, long seed) {
+        return sampleOf(findAll(), count, seed);
+    }
+
+    default List<IndexedQuestion> sample(String fileName, int count, long seed) {
+        return sampleOf(findAll(fileName), count, seed);
+    }
+
+    /**
+     * Whether {@link #sample(String, int, long)} reads only the chosen questions instead of the whole bank.
+     */
+    default boolean isSamplingNative() {
+        return false;
+    }
+
+    /**
+     * Drops what the source keeps of the bank, so that it is read from the file again.
+     */
+    default void invalidate(String fileName) {
+    }
+
+    default void invalidateAll() {
+    }
+
+    /**
+     * View of the given bank for a single session: the no-arg methods read {@code fileName}
+     * instead of the bank of the application locale.
+     */
+    static QuestionDao boundTo(QuestionDao questionDao, String fileName) {
+        return new FileBoundQuestionDao(questionDao, fileName);
+    }
+
+    /**
+     * Bank already read into memory: no method touches a file, whatever file name it is given.
+     */
+    static QuestionDao inMemory(List<Question> questions) {
+        return new InMemoryQuestionDao(List.copyOf(questions));
+    }
+
+    private static List<IndexedQuestion> sampleOf(List<Question> bank, int count, long seed) {
+        var indexes = new ArrayList<Integer>(bank.size());
+        for (int i = 0; i < bank.size(); i++) {
+            indexes.add(i);
+        }
+        Collections.shuffle(indexes, new Random(seed));
+        return indexes.subList(0, Math.min(count, indexes.size())).stream()
+                .map(index -> new IndexedQuestion(index, bank.get(index)))
+                .toList();
+    }
 }
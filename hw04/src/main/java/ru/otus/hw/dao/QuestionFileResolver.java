@@ -0,0 +1,63 @@
+package ru.otus.hw.dao;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.otus.hw.config.QuestionsDirectoryProvider;
+import ru.otus.hw.exceptions.QuestionReadException;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@RequiredArgsConstructor
+@Component
+public class QuestionFileResolver {
+
+    private final QuestionsDirectoryProvider directoryProvider;
+
+    private final Map<String, Path> extractedResources = new ConcurrentHashMap<>();
+
+    public Path resolve(String fileName) {
+        var directory = directoryProvider.getQuestionsDirectory();
+        if (directory != null && !directory.isBlank()) {
+            var file = Path.of(directory).resolve(fileName);
+            if (Files.isRegularFile(file)) {
+                return file;
+            }
+        }
+        return resolveClasspathResource(fileName);
+    }
+
+    private Path resolveClasspathResource(String fileName) {
+        var resource = getClass().getClassLoader().getResource(fileName);
+        if (resource == null) {
+            throw new QuestionReadException("File not found: " + fileName);
+        }
+        if ("file".equals(resource.getProtocol())) {
+            try {
+                return Path.of(resource.toURI());
+            } catch (URISyntaxException e) {
+                throw new QuestionReadException("Invalid question file location: " + resource, e);
+            }
+        }
+        return extractedResources.computeIfAbsent(fileName, this::extractResource);
+    }
+
+    private Path extractResource(String fileName) {
+        try (var inputStream = getClass().getClassLoader().getResourceAsStream(fileName)) {
+            if (inputStream == null) {
+                throw new QuestionReadException("File not found: " + fileName);
+            }
+            var file = Files.createTempFile("questions-", "-" + Path.of(fileName).getFileName());
+            file.toFile().deleteOnExit();
+            Files.copy(inputStream, file, StandardCopyOption.REPLACE_EXISTING);
+            return file;
+        } catch (IOException e) {
+            throw new QuestionReadException("Error while extracting question file: " + fileName, e);
+        }
+    }
+}
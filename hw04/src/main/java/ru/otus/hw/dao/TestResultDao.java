@@ -0,0 +1,30 @@
+package ru.otus.hw.dao;
+
+import ru.otus.hw.domain.SessionRecord;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public interface TestResultDao {
+
+    /**
+     * Appends the session to the log. The future completes once the record is synced to disk,
+     * records saved at the same time share one sync.
+     */
+    CompletableFuture<Void> save(SessionRecord sessionRecord);
+
+    List<SessionRecord> findByStudent(String studentFullName);
+
+    /**
+     * Pass rate of one student or, when the name is null, of all stored sessions.
+     */
+    PassRate getPassRate(String studentFullName, int rightAnswersCountToPass);
+
+    void compact();
+
+    record PassRate(long sessionsCount, long passedCount) {
+        public double rate() {
+            return sessionsCount == 0 ? 0 : (double) passedCount / sessionsCount;
+        }
+    }
+}
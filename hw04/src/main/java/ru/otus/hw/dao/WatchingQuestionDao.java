@@ -0,0 +1,164 @@
+package ru.otus.hw.dao;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import ru.otus.hw.config.QuestionsDirectoryProvider;
+import ru.otus.hw.config.TestFileNameProvider;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.exceptions.QuestionReadException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Question banks from the questions directory (classpath as a fallback), kept as immutable snapshots.
+ * A background thread watches the directory, re-parses changed banks and replaces their snapshots,
+ * so running sessions finish on the list they started with and new sessions get the new one.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+@Qualifier(CachingQuestionDao.QUESTION_SOURCE)
+@ConditionalOnProperty(prefix = "test", name = "question-source", havingValue = "watched")
+public class WatchingQuestionDao implements QuestionDao {
+
+    // Editors save in several steps, changes are reloaded once the directory is quiet for this long
+    private static final long QUIET_PERIOD_MILLIS = 200;
+
+    private final TestFileNameProvider fileNameProvider;
+
+    private final QuestionsDirectoryProvider directoryProvider;
+
+    private final QuestionFileResolver fileResolver;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<String, List<Question>> snapshots = new ConcurrentHashMap<>();
+
+    private WatchService watchService;
+
+    @PostConstruct
+    public void startWatching() {
+        var directory = directoryProvider.getQuestionsDirectory();
+        if (directory == null || directory.isBlank()) {
+            log.info("Questions directory is not set, question banks are not watched");
+            return;
+        }
+        try {
+            watchService = Path.of(directory).getFileSystem().newWatchService();
+            Path.of(directory).register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e) {
+            throw new QuestionReadException("Unable to watch questions directory: " + directory, e);
+        }
+        var watcher = new Thread(this::watch, "question-bank-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    @PreDestroy
+    public void stopWatching() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    @Override
+    public List<Question> findAll() {
+        return findAll(fileNameProvider.getTestFileName());
+    }
+
+    @Override
+    public List<Question> findAll(String fileName) {
+        return snapshots.computeIfAbsent(fileName, this::parse);
+    }
+
+    @Override
+    public Stream<Question> streamAll() {
+        return findAll().stream();
+    }
+
+    @Override
+    public Stream<Question> streamAll(String fileName) {
+        return findAll(fileName).stream();
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                var changed = new HashSet<String>();
+                var key = watchService.take();
+                do {
+                    boolean overflow = collectChanges(key.pollEvents(), changed);
+                    if (overflow) {
+                        changed.addAll(snapshots.keySet());
+                    }
+                    key.reset();
+                    key = watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+                } while (key != null);
+                reload(changed);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            log.debug("Question banks are not watched anymore");
+        }
+    }
+
+    private static boolean collectChanges(List<WatchEvent<?>> events, Set<String> changed) {
+        boolean overflow = false;
+        for (var event : events) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                overflow = true;
+            } else if (event.context() instanceof Path file) {
+                changed.add(file.toString());
+            }
+        }
+        return overflow;
+    }
+
+    // Only banks that are already in use are parsed again, a broken file keeps the previous snapshot
+    private void reload(Set<String> fileNames) {
+        for (var fileName : fileNames) {
+            if (!snapshots.containsKey(fileName)) {
+                continue;
+            }
+            try {
+                snapshots.put(fileName, parse(fileName));
+                eventPublisher.publishEvent(new QuestionBankChangedEvent(fileName));
+                log.info("Question bank {} reloaded", fileName);
+            } catch (QuestionReadException e) {
+                log.warn("Question bank {} was not reloaded: {}", fileName, e.getMessage());
+            }
+        }
+    }
+
+    private List<Question> parse(String fileName) {
+        var file = fileResolver.resolve(fileName);
+        try (var reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             var questions = new QuestionCsvParser(reader, 1).stream()) {
+            return questions.toList();
+        } catch (IOException e) {
+            throw new QuestionReadException("Error while reading question file: " + file, e);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package ru.otus.hw.domain;
+
+public record GradedSheet(String student, int answeredQuestionsCount, int rightAnswersCount, boolean passed) {
+}
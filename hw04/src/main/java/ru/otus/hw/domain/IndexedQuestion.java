@@ -0,0 +1,7 @@
+package ru.otus.hw.domain;
+
+/**
+ * Question chosen for a session together with its position in the bank.
+ */
+public record IndexedQuestion(int index, Question question) {
+}
@@ -0,0 +1,7 @@
+package ru.otus.hw.domain;
+
+public record QuestionStats(Question question, long attempts, long rightAnswers, long[] chosenAnswers) {
+    public double rightAnswersRate() {
+        return attempts == 0 ? 0 : (double) rightAnswers / attempts;
+    }
+}
@@ -0,0 +1,11 @@
+package ru.otus.hw.domain;
+
+import java.util.Locale;
+
+/**
+ * Everything that differs between concurrent testing sessions: the language of messages
+ * and the question bank of that language. Passed down to the per-session services instead of
+ * being read from the application-wide configuration.
+ */
+public record SessionContext(Locale locale, String testFileName) {
+}
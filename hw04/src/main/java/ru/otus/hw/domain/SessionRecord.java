@@ -0,0 +1,6 @@
+package ru.otus.hw.domain;
+
+import java.util.Locale;
+
+public record SessionRecord(long timestamp, Locale locale, TestResult testResult) {
+}
@@ -1,27 +1,192 @@
 package ru.otus.hw.domain;
 
-import lombok.Data;
+import lombok.AccessLevel;
+import lombok.Getter;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
 
-@Data
+/**
+ * Answers in the order the questions were asked: the index of the question in its bank, a correctness bit
+ * and the chosen answer index per answer, no references to the questions themselves.
+ */
+@Getter
 public class TestResult {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private static final int MAX_ANSWERS_PER_QUESTION = 256;
+
     private final Student student;
 
-    private final List<Question> answeredQuestions;
+    private int answeredQuestionsCount;
 
     private int rightAnswersCount;
 
+    @Getter(AccessLevel.NONE)
+    private long[] rightAnswers;
+
+    @Getter(AccessLevel.NONE)
+    private int[] questionIndexes;
+
+    @Getter(AccessLevel.NONE)
+    private byte[] chosenAnswers;
+
     public TestResult(Student student) {
+        this(student, INITIAL_CAPACITY);
+    }
+
+    private TestResult(Student student, int capacity) {
         this.student = student;
-        this.answeredQuestions = new ArrayList<>();
+        this.rightAnswers = new long[words(capacity)];
+        this.questionIndexes = new int[capacity];
+        this.chosenAnswers = new byte[capacity];
     }
 
-    public void applyAnswer(Question question, boolean isRightAnswer) {
-        answeredQuestions.add(question);
+    /**
+     * @param bankQuestionIndex position of the answered question in its bank
+     */
+    public void applyAnswer(int bankQuestionIndex, int chosenAnswerIndex, boolean isRightAnswer) {
+        if (bankQuestionIndex < 0) {
+            throw new IllegalArgumentException("Question index out of range: " + bankQuestionIndex);
+        }
+        if (chosenAnswerIndex < 0 || chosenAnswerIndex >= MAX_ANSWERS_PER_QUESTION) {
+            throw new IllegalArgumentException("Answer index out of range: " + chosenAnswerIndex);
+        }
+        int questionIndex = answeredQuestionsCount;
+        if (questionIndex == chosenAnswers.length) {
+            chosenAnswers = Arrays.copyOf(chosenAnswers, chosenAnswers.length * 2);
+            questionIndexes = Arrays.copyOf(questionIndexes, chosenAnswers.length);
+            rightAnswers = Arrays.copyOf(rightAnswers, words(chosenAnswers.length));
+        }
+        questionIndexes[questionIndex] = bankQuestionIndex;
+        chosenAnswers[questionIndex] = (byte) chosenAnswerIndex;
         if (isRightAnswer) {
+            rightAnswers[questionIndex >>> 6] |= 1L << questionIndex;
             rightAnswersCount++;
         }
+        answeredQuestionsCount++;
+    }
+
+    public boolean isRightAnswer(int questionIndex) {
+        Objects.checkIndex(questionIndex, answeredQuestionsCount);
+        return (rightAnswers[questionIndex >>> 6] & (1L << questionIndex)) != 0;
+    }
+
+    public int getBankQuestionIndex(int questionIndex) {
+        Objects.checkIndex(questionIndex, answeredQuestionsCount);
+        return questionIndexes[questionIndex];
+    }
+
+    public int getChosenAnswerIndex(int questionIndex) {
+        Objects.checkIndex(questionIndex, answeredQuestionsCount);
+        return Byte.toUnsignedInt(chosenAnswers[questionIndex]);
+    }
+
+    /**
+     * Size of the binary record: the student's first and last names (length and UTF-8 bytes each),
+     * the answers count (int), correctness bits (long words), then a fixed-width entry per answer:
+     * the bank question index (int) and the chosen answer index (byte).
+     */
+    public int getRecordSize() {
+        return Math.toIntExact(2 * Integer.BYTES + bytes(student.firstName()).length
+                + bytes(student.lastName()).length + answersSize(answeredQuestionsCount));
+    }
+
+    public void writeTo(ByteBuffer buffer) {
+        putString(buffer, student.firstName());
+        putString(buffer, student.lastName());
+        buffer.putInt(answeredQuestionsCount);
+        for (int i = 0; i < words(answeredQuestionsCount); i++) {
+            buffer.putLong(rightAnswers[i]);
+        }
+        for (int i = 0; i < answeredQuestionsCount; i++) {
+            buffer.putInt(questionIndexes[i]);
+        }
+        buffer.put(chosenAnswers, 0, answeredQuestionsCount);
+    }
+
+    public static TestResult readFrom(ByteBuffer buffer) {
+        var student = new Student(getString(buffer), getString(buffer));
+        int questionsCount = buffer.getInt();
+        if (questionsCount < 0 || answersSize(questionsCount) - Integer.BYTES > buffer.remaining()) {
+            throw new IllegalArgumentException("Malformed test result record");
+        }
+        var testResult = new TestResult(student, Math.max(questionsCount, 1));
+        for (int i = 0; i < words(questionsCount); i++) {
+            long word = buffer.getLong();
+            if (i == questionsCount >>> 6) {
+                word &= (1L << questionsCount) - 1;
+            }
+            testResult.rightAnswers[i] = word;
+            testResult.rightAnswersCount += Long.bitCount(word);
+        }
+        for (int i = 0; i < questionsCount; i++) {
+            testResult.questionIndexes[i] = buffer.getInt();
+        }
+        buffer.get(testResult.chosenAnswers, 0, questionsCount);
+        testResult.answeredQuestionsCount = questionsCount;
+        return testResult;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TestResult that)) {
+            return false;
+        }
+        int words = words(answeredQuestionsCount);
+        return answeredQuestionsCount == that.answeredQuestionsCount
+                && rightAnswersCount == that.rightAnswersCount
+                && Objects.equals(student, that.student)
+                && Arrays.equals(rightAnswers, 0, words, that.rightAnswers, 0, words)
+                && Arrays.equals(questionIndexes, 0, answeredQuestionsCount,
+                that.questionIndexes, 0, answeredQuestionsCount)
+                && Arrays.equals(chosenAnswers, 0, answeredQuestionsCount,
+                that.chosenAnswers, 0, answeredQuestionsCount);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(student, answeredQuestionsCount, rightAnswersCount);
+    }
+
+    @Override
+    public String toString() {
+        return "TestResult(student=" + student + ", answeredQuestionsCount=" + answeredQuestionsCount
+                + ", rightAnswersCount=" + rightAnswersCount + ")";
+    }
+
+    // Everything after the names: the answers count, the correctness bits and the per answer entries.
+    // In long, so that a corrupted count in a record cannot wrap it around
+    private static long answersSize(int questionsCount) {
+        return Integer.BYTES + (long) Long.BYTES * words(questionsCount) + (Integer.BYTES + 1L) * questionsCount;
+    }
+
+    private static int words(int bits) {
+        return (int) ((bits + Long.SIZE - 1L) >>> 6);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        var bytes = bytes(value);
+        buffer.putInt(bytes.length).put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Malformed test result record");
+        }
+        var bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
     }
 }
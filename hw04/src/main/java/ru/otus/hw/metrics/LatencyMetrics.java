@@ -0,0 +1,130 @@
+package ru.otus.hw.metrics;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.otus.hw.config.MetricsConfig;
+import ru.otus.hw.metrics.LatencyHistogram.LatencySnapshot;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency histograms by operation name. When disabled, {@link #start()} and {@link #stop(String, long)}
+ * do not even read the clock, so the instrumented code paths cost one field read.
+ */
+@Slf4j
+@Component
+public class LatencyMetrics {
+
+    public static final String QUESTIONS_FIND_ALL = "questions.findAll";
+
+    public static final String QUESTIONS_LOAD = "questions.load";
+
+    public static final String QUESTIONS_STREAM_OPEN = "questions.streamAll";
+
+    public static final String QUESTIONS_STREAM_NEXT = "questions.streamAll.next";
+
+    public static final String QUESTIONS_SAMPLE = "questions.sample";
+
+    public static final String MESSAGES_GET = "messages.getMessage";
+
+    public static final String IO_WRITE = "io.write";
+
+    public static final String IO_READ = "io.read";
+
+    public static final String RESULT_SHOW = "result.showResult";
+
+    private final boolean enabled;
+
+    private final int logIntervalSeconds;
+
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService logger;
+
+    public LatencyMetrics(MetricsConfig metricsConfig) {
+        this.enabled = metricsConfig.isLatencyMetricsEnabled();
+        this.logIntervalSeconds = metricsConfig.getLatencyMetricsLogIntervalSeconds();
+    }
+
+    /**
+     * Metrics that record nothing, for services built outside of the application context.
+     */
+    public static LatencyMetrics disabled() {
+        return new LatencyMetrics(new MetricsConfig() {
+            @Override
+            public boolean isLatencyMetricsEnabled() {
+                return false;
+            }
+
+            @Override
+            public int getLatencyMetricsLogIntervalSeconds() {
+                return 0;
+            }
+        });
+    }
+
+    @PostConstruct
+    public void startLogging() {
+        if (!enabled || logIntervalSeconds <= 0) {
+            return;
+        }
+        logger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "latency-metrics-logger");
+            thread.setDaemon(true);
+            return thread;
+        });
+        logger.scheduleWithFixedDelay(this::logSnapshot, logIntervalSeconds, logIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stopLogging() {
+        if (logger != null) {
+            logger.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    public void stop(String operation, long start) {
+        if (enabled) {
+            histograms.computeIfAbsent(operation, name -> new LatencyHistogram()).record(System.nanoTime() - start);
+        }
+    }
+
+    public List<LatencySnapshot> snapshot() {
+        return histograms.entrySet().stream()
+                .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                .sorted(Comparator.comparing(LatencySnapshot::operation))
+                .toList();
+    }
+
+    public void reset() {
+        histograms.values().forEach(LatencyHistogram::reset);
+    }
+
+    private void logSnapshot() {
+        for (var snapshot : snapshot()) {
+            log.info("{}: count={} mean={}us p50={}us p90={}us p99={}us max={}us", snapshot.operation(),
+                    snapshot.count(), micros(snapshot.meanNanos()), micros(snapshot.p50Nanos()),
+                    micros(snapshot.p90Nanos()), micros(snapshot.p99Nanos()), micros(snapshot.maxNanos()));
+        }
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+}
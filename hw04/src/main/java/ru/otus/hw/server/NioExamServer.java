@@ -0,0 +1,273 @@
+package ru.otus.hw.server;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.otus.hw.dao.QuestionBankChangedEvent;
+import ru.otus.hw.domain.SessionContext;
+import ru.otus.hw.service.LoadedBank;
+import ru.otus.hw.service.SessionEngine;
+import ru.otus.hw.service.TestConversation;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Locale;
+
+/**
+ * Line protocol exam server on a single selector thread. Every connection is a {@link TestConversation}
+ * state machine, so an idle student costs a few small objects instead of a blocked thread.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class NioExamServer {
+
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    private static final int MAX_LINE_LENGTH = 1024;
+
+    private final SessionEngine sessionEngine;
+
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+
+    private Selector selector;
+
+    private ServerSocketChannel serverChannel;
+
+    private volatile boolean running;
+
+    private Thread selectorThread;
+
+    private SessionContext sessionContext;
+
+    // Read on the caller of start() and on bank change, so the selector thread never parses a file
+    private volatile LoadedBank bank;
+
+    /**
+     * @param locale language of all sessions served on this port, null - the application locale
+     */
+    public synchronized int start(int port, Locale locale) {
+        if (selectorThread != null) {
+            throw new IllegalStateException("NIO exam server is already running");
+        }
+        sessionContext = sessionEngine.createContext(locale);
+        bank = sessionEngine.loadBank(sessionContext);
+        try {
+            selector = Selector.open();
+            serverChannel = ServerSocketChannel.open();
+            serverChannel.bind(new InetSocketAddress(port), 1024);
+            serverChannel.configureBlocking(false);
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to listen on port " + port, e);
+        }
+        running = true;
+        selectorThread = new Thread(this::serve, "nio-exam-server");
+        selectorThread.setDaemon(true);
+        selectorThread.start();
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * Returns when the selector thread has closed all connections, the selector and the server channel,
+     * so a following {@link #start(int, Locale)} never shares them with the previous run.
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        if (selectorThread == null) {
+            return;
+        }
+        running = false;
+        selector.wakeup();
+        try {
+            selectorThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while stopping the NIO exam server", e);
+        }
+        selectorThread = null;
+    }
+
+    /**
+     * Conversations started after the change get the new bank, the running ones finish on the old one.
+     */
+    @EventListener
+    public synchronized void onQuestionBankChanged(QuestionBankChangedEvent event) {
+        if (!running || !sessionContext.testFileName().equals(event.fileName())) {
+            return;
+        }
+        try {
+            bank = sessionEngine.loadBank(sessionContext);
+        } catch (RuntimeException e) {
+            log.warn("Question bank {} was not reloaded, keeping the previous one", event.fileName(), e);
+        }
+    }
+
+    private void serve() {
+        try {
+            while (running) {
+                selector.select();
+                var keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    var key = keys.next();
+                    keys.remove();
+                    handle(key);
+                }
+            }
+        } catch (IOException e) {
+            log.error("NIO exam server failed", e);
+        } finally {
+            closeAll();
+        }
+    }
+
+    private void handle(SelectionKey key) {
+        try {
+            if (!key.isValid()) {
+                return;
+            }
+            if (key.isAcceptable()) {
+                accept();
+                return;
+            }
+            if (key.isReadable()) {
+                read(key);
+            }
+            if (key.isValid() && key.isWritable()) {
+                write(key);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.debug("Closing exam connection after error", e);
+            close(key);
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            var connection = new Connection(sessionEngine.startConversation(sessionContext, bank));
+            var key = channel.register(selector, SelectionKey.OP_READ, connection);
+            flushConversationOutput(key, connection);
+        }
+    }
+
+    private void read(SelectionKey key) throws IOException {
+        var connection = (Connection) key.attachment();
+        var channel = (SocketChannel) key.channel();
+        readBuffer.clear();
+        if (channel.read(readBuffer) < 0) {
+            close(key);
+            return;
+        }
+        readBuffer.flip();
+        while (readBuffer.hasRemaining() && !connection.conversation.isFinished()) {
+            byte b = readBuffer.get();
+            if (b == '\n') {
+                connection.conversation.onLine(connection.takeLine());
+            } else if (!connection.appendToLine(b)) {
+                close(key);
+                return;
+            }
+        }
+        flushConversationOutput(key, connection);
+    }
+
+    private void write(SelectionKey key) throws IOException {
+        var connection = (Connection) key.attachment();
+        var channel = (SocketChannel) key.channel();
+        while (connection.pendingOutput != null && !connection.pendingOutput.isEmpty()) {
+            var buffer = connection.pendingOutput.peek();
+            channel.write(buffer);
+            if (buffer.hasRemaining()) {
+                return;
+            }
+            connection.pendingOutput.poll();
+        }
+        if (connection.conversation.isFinished()) {
+            close(key);
+            return;
+        }
+        key.interestOps(SelectionKey.OP_READ);
+    }
+
+    private void flushConversationOutput(SelectionKey key, Connection connection) throws IOException {
+        var output = connection.conversation.drainOutput();
+        if (!output.isEmpty()) {
+            if (connection.pendingOutput == null) {
+                connection.pendingOutput = new ArrayDeque<>(2);
+            }
+            connection.pendingOutput.add(ByteBuffer.wrap(output.getBytes(StandardCharsets.UTF_8)));
+        }
+        key.interestOps(SelectionKey.OP_WRITE);
+        write(key);
+    }
+
+    private void close(SelectionKey key) {
+        if (key.attachment() instanceof Connection connection) {
+            connection.conversation.close();
+        }
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            log.debug("Error while closing exam connection", e);
+        }
+    }
+
+    private void closeAll() {
+        for (var key : selector.keys()) {
+            close(key);
+        }
+        try {
+            selector.close();
+        } catch (IOException e) {
+            log.warn("Error while closing selector", e);
+        }
+    }
+
+    private static final class Connection {
+
+        private final TestConversation conversation;
+
+        private ByteArrayOutputStream partialLine;
+
+        private Deque<ByteBuffer> pendingOutput;
+
+        private Connection(TestConversation conversation) {
+            this.conversation = conversation;
+        }
+
+        boolean appendToLine(byte b) {
+            if (partialLine == null) {
+                partialLine = new ByteArrayOutputStream(64);
+            }
+            if (partialLine.size() >= MAX_LINE_LENGTH) {
+                return false;
+            }
+            partialLine.write(b);
+            return true;
+        }
+
+        String takeLine() {
+            if (partialLine == null) {
+                return "";
+            }
+            var line = partialLine.toString(StandardCharsets.UTF_8);
+            partialLine.reset();
+            return line.endsWith("\r") ? line.substring(0, line.length() - 1) : line;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package ru.otus.hw.server;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.otus.hw.config.SessionConfig;
+import ru.otus.hw.domain.SessionContext;
+import ru.otus.hw.domain.TestResult;
+import ru.otus.hw.service.SessionEngine;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class SocketExamServer {
+
+    private final SessionEngine sessionEngine;
+
+    private final SessionConfig sessionConfig;
+
+    private ServerSocket serverSocket;
+
+    private SessionContext sessionContext;
+
+    /**
+     * @param locale language of all sessions served on this port, null - the application locale
+     */
+    public synchronized int start(int port, Locale locale) {
+        if (serverSocket != null) {
+            throw new IllegalStateException("Exam server is already running on port " + serverSocket.getLocalPort());
+        }
+        sessionContext = sessionEngine.createContext(locale);
+        try {
+            serverSocket = new ServerSocket(port);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to listen on port " + port, e);
+        }
+        var acceptor = new Thread(() -> acceptConnections(serverSocket), "exam-server-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        return serverSocket.getLocalPort();
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (serverSocket == null) {
+            return;
+        }
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            log.warn("Error while closing exam server socket", e);
+        }
+        serverSocket = null;
+    }
+
+    private void acceptConnections(ServerSocket listener) {
+        while (!listener.isClosed()) {
+            try {
+                startSession(listener.accept());
+            } catch (IOException e) {
+                if (!listener.isClosed()) {
+                    log.warn("Error while accepting exam connection", e);
+                }
+            }
+        }
+    }
+
+    private void startSession(Socket socket) throws IOException {
+        // A silent client would hold a session thread for good, the read timeout ends its session
+        socket.setSoTimeout((int) TimeUnit.SECONDS.toMillis(sessionConfig.getSessionReadTimeoutSeconds()));
+        CompletableFuture<TestResult> session;
+        try {
+            session = sessionEngine.startSession(socket.getInputStream(), socket.getOutputStream(), sessionContext);
+        } catch (RejectedExecutionException e) {
+            log.warn("Too many exam sessions, connection from {} closed", socket.getRemoteSocketAddress());
+            closeQuietly(socket);
+            return;
+        }
+        session.whenComplete((result, e) -> {
+            if (e != null) {
+                log.warn("Session from {} failed: {}", socket.getRemoteSocketAddress(), e.getMessage());
+            }
+            closeQuietly(socket);
+        });
+    }
+
+    private void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            log.debug("Error while closing exam connection", e);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package ru.otus.hw.service;
+
+import ru.otus.hw.domain.IndexedQuestion;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.domain.TestResult;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Picks every next question by the answers given so far. The student's ability is the smoothed share of
+ * right answers, a question's difficulty is the smoothed share of right answers to it across all sessions.
+ * The next question comes from the difficulty bucket the student answers right with probability closest
+ * to one half, which says the most about the verdict. Questions run out as soon as the verdict is known:
+ * the pass threshold is reached, it can no longer be reached, or reaching it is less likely than
+ * {@link #FAIL_PROBABILITY_LIMIT}.
+ */
+final class AdaptiveQuestionSelector implements Iterator<IndexedQuestion> {
+
+    static final double FAIL_PROBABILITY_LIMIT = 0.05;
+
+    private static final int MIN_ANSWERS_BEFORE_EARLY_STOP = 3;
+
+    private final List<Question> questions;
+
+    private final QuestionDifficulties difficulties;
+
+    private final TestResult testResult;
+
+    private final int questionsCount;
+
+    private final int rightAnswersCountToPass;
+
+    private final int scanOffset;
+
+    // Questions asked from every bucket, a bucket is walked in order starting from the scan offset
+    private final int[] taken = new int[QuestionDifficulties.BUCKETS_COUNT];
+
+    private IndexedQuestion next;
+
+    private boolean finished;
+
+    /**
+     * @param difficulties difficulty buckets of the same bank as {@code questions}
+     */
+    AdaptiveQuestionSelector(List<Question> questions, QuestionDifficulties difficulties,
+                             TestResult testResult, int questionsCount, int rightAnswersCountToPass,
+                             int scanOffset) {
+        this.questions = questions;
+        this.difficulties = difficulties;
+        this.testResult = testResult;
+        this.questionsCount = Math.min(questionsCount, questions.size());
+        this.rightAnswersCountToPass = rightAnswersCountToPass;
+        this.scanOffset = scanOffset;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !finished) {
+            next = selectNext();
+            finished = next == null;
+        }
+        return next != null;
+    }
+
+    @Override
+    public IndexedQuestion next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        var question = next;
+        next = null;
+        return question;
+    }
+
+    private IndexedQuestion selectNext() {
+        int answered = testResult.getAnsweredQuestionsCount();
+        int right = testResult.getRightAnswersCount();
+        int remaining = questionsCount - answered;
+        int needed = rightAnswersCountToPass - right;
+        if (remaining <= 0 || answered > 0 && needed <= 0 || needed > remaining) {
+            return null;
+        }
+
+        double abilityLogit = QuestionDifficulties.logit((right + 1.0) / (answered + 2.0));
+        int best = -1;
+        double bestDistance = Double.MAX_VALUE;
+        double probabilitiesSum = 0;
+        int available = 0;
+        for (int bucket = 0; bucket < QuestionDifficulties.BUCKETS_COUNT; bucket++) {
+            int left = difficulties.bucket(bucket).length - taken[bucket];
+            if (left == 0) {
+                continue;
+            }
+            double probability = logistic(abilityLogit + difficulties.bucketLogit(bucket));
+            probabilitiesSum += probability * left;
+            available += left;
+            double distance = Math.abs(probability - 0.5);
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = bucket;
+            }
+        }
+
+        double meanProbability = probabilitiesSum / available;
+        if (answered >= MIN_ANSWERS_BEFORE_EARLY_STOP
+                && atLeastProbability(remaining, meanProbability, needed) < FAIL_PROBABILITY_LIMIT) {
+            return null;
+        }
+        var bucket = difficulties.bucket(best);
+        int index = bucket[(scanOffset + taken[best]++) % bucket.length];
+        return new IndexedQuestion(index, questions.get(index));
+    }
+
+    // P(X >= k) for X ~ Binomial(n, p), summed in log space so that long tests do not underflow
+    static double atLeastProbability(int n, double p, int k) {
+        if (k <= 0) {
+            return 1;
+        }
+        if (k > n) {
+            return 0;
+        }
+        double logRatio = Math.log(p) - Math.log1p(-p);
+        double logPmf = n * Math.log1p(-p);
+        double below = 0;
+        for (int i = 0; i < k; i++) {
+            below += Math.exp(logPmf);
+            logPmf += Math.log(n - i) - Math.log(i + 1) + logRatio;
+        }
+        return Math.max(0, 1 - below);
+    }
+
+    private static double logistic(double logit) {
+        double p = 1 / (1 + Math.exp(-logit));
+        return Math.min(Math.max(p, QuestionDifficulties.MIN_PROBABILITY), 1 - QuestionDifficulties.MIN_PROBABILITY);
+    }
+}
@@ -0,0 +1,13 @@
+package ru.otus.hw.service;
+
+/**
+ * Answer counters of one question bank, resolved once so that registering an answer never reads the bank.
+ */
+public interface BankAnalytics {
+    void registerAnswer(int questionIndex, int chosenAnswerIndex, boolean isRightAnswer);
+
+    /**
+     * @see QuestionAnalyticsService#getDifficulties(String)
+     */
+    QuestionDifficulties getDifficulties();
+}
@@ -0,0 +1,21 @@
+package ru.otus.hw.service;
+
+import ru.otus.hw.domain.GradedSheet;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface BatchGradingService {
+
+    /**
+     * Grades answer sheet rows {@code student;questionNumber;answerNumber}, numbers start from 1
+     * as in the interactive test. Rows that do not fit the question bank are skipped.
+     */
+    List<GradedSheet> grade(Stream<String> rows);
+
+    BatchGradingReport gradeFile(Path answerSheets, Path results);
+
+    record BatchGradingReport(long rowsCount, long skippedRowsCount, int studentsCount, int passedCount) {
+    }
+}
@@ -0,0 +1,199 @@
+package ru.otus.hw.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import ru.otus.hw.config.TestConfig;
+import ru.otus.hw.dao.QuestionDao;
+import ru.otus.hw.domain.GradedSheet;
+import ru.otus.hw.domain.Question;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class BatchGradingServiceImpl implements BatchGradingService {
+
+    private static final char SEPARATOR = ';';
+
+    private final QuestionDao questionDao;
+
+    private final TestConfig testConfig;
+
+    @Override
+    public List<GradedSheet> grade(Stream<String> rows) {
+        return gradeRows(rows).sheets();
+    }
+
+    @Override
+    public BatchGradingReport gradeFile(Path answerSheets, Path results) {
+        Grading grading;
+        // Files.lines splits UTF-8 files between worker threads without reading them up front
+        try (var rows = Files.lines(answerSheets, StandardCharsets.UTF_8)) {
+            grading = gradeRows(rows);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read answer sheets " + answerSheets, e);
+        }
+
+        var sheets = grading.sheets();
+        int passedCount = 0;
+        try (var writer = Files.newBufferedWriter(results, StandardCharsets.UTF_8)) {
+            for (var sheet : sheets) {
+                writer.append(sheet.student()).append(SEPARATOR)
+                        .append(Integer.toString(sheet.answeredQuestionsCount())).append(SEPARATOR)
+                        .append(Integer.toString(sheet.rightAnswersCount())).append(SEPARATOR)
+                        .append(Boolean.toString(sheet.passed()));
+                writer.newLine();
+                if (sheet.passed()) {
+                    passedCount++;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write grading results " + results, e);
+        }
+        return new BatchGradingReport(grading.rows, grading.skippedRows, sheets.size(), passedCount);
+    }
+
+    // Every chunk of a parallel stream is graded on its own; the chunks are merged in file order,
+    // so a later row for the same question overrides the earlier one
+    private Grading gradeRows(Stream<String> rows) {
+        var rightAnswers = rightAnswersOf(questionDao.findAll());
+        int rightAnswersCountToPass = testConfig.getRightAnswersCountToPass();
+        return rows.parallel().collect(() -> new Grading(rightAnswers, rightAnswersCountToPass),
+                Grading::accept, Grading::merge);
+    }
+
+    // rightAnswers[question][answer], both zero based
+    private static boolean[][] rightAnswersOf(List<Question> questions) {
+        var rightAnswers = new boolean[questions.size()][];
+        for (int i = 0; i < rightAnswers.length; i++) {
+            var answers = questions.get(i).answers();
+            rightAnswers[i] = new boolean[answers.size()];
+            for (int j = 0; j < answers.size(); j++) {
+                rightAnswers[i][j] = answers.get(j).isCorrect();
+            }
+        }
+        return rightAnswers;
+    }
+
+    private static final class Grading {
+
+        private final boolean[][] rightAnswers;
+
+        private final int rightAnswersCountToPass;
+
+        private final Map<String, StudentAnswers> students = new HashMap<>();
+
+        private long rows;
+
+        private long skippedRows;
+
+        private Grading(boolean[][] rightAnswers, int rightAnswersCountToPass) {
+            this.rightAnswers = rightAnswers;
+            this.rightAnswersCountToPass = rightAnswersCountToPass;
+        }
+
+        void accept(String row) {
+            if (row.isBlank() || row.charAt(0) == '#') {
+                return;
+            }
+            rows++;
+            int questionStart = row.lastIndexOf(SEPARATOR, row.lastIndexOf(SEPARATOR) - 1) + 1;
+            int answerStart = row.indexOf(SEPARATOR, questionStart) + 1;
+            if (questionStart <= 1 || answerStart <= questionStart) {
+                skippedRows++;
+                return;
+            }
+            int question = parseNumber(row, questionStart, answerStart - 1) - 1;
+            int answer = parseNumber(row, answerStart, row.length()) - 1;
+            if (question < 0 || question >= rightAnswers.length
+                    || answer < 0 || answer >= rightAnswers[question].length) {
+                skippedRows++;
+                return;
+            }
+            var student = row.substring(0, questionStart - 1).strip();
+            students.computeIfAbsent(student, s -> new StudentAnswers()).choose(question, answer);
+        }
+
+        // The rows of the other grading follow the rows of this one
+        void merge(Grading other) {
+            rows += other.rows;
+            skippedRows += other.skippedRows;
+            other.students.forEach((student, answers) -> students.merge(student, answers, StudentAnswers::merge));
+        }
+
+        List<GradedSheet> sheets() {
+            return students.entrySet().stream()
+                    .map(entry -> entry.getValue().toSheet(entry.getKey(), rightAnswers, rightAnswersCountToPass))
+                    .sorted(Comparator.comparing(GradedSheet::student))
+                    .toList();
+        }
+
+        // -1 for anything but a plain positive number
+        private static int parseNumber(String row, int start, int end) {
+            while (start < end && row.charAt(start) == ' ') {
+                start++;
+            }
+            while (end > start && row.charAt(end - 1) == ' ') {
+                end--;
+            }
+            if (start == end || end - start > 9) {
+                return -1;
+            }
+            int value = 0;
+            for (int i = start; i < end; i++) {
+                char c = row.charAt(i);
+                if (c < '0' || c > '9') {
+                    return -1;
+                }
+                value = value * 10 + (c - '0');
+            }
+            return value;
+        }
+    }
+
+    // Answer chosen for every question the student answered, each question counted once
+    private static final class StudentAnswers {
+
+        private final BitSet answered = new BitSet();
+
+        private int[] chosenAnswers = new int[4];
+
+        void choose(int question, int answer) {
+            if (question >= chosenAnswers.length) {
+                chosenAnswers = Arrays.copyOf(chosenAnswers, Math.max(question + 1, chosenAnswers.length * 2));
+            }
+            answered.set(question);
+            chosenAnswers[question] = answer;
+        }
+
+        StudentAnswers merge(StudentAnswers later) {
+            for (int question = later.answered.nextSetBit(0); question >= 0;
+                 question = later.answered.nextSetBit(question + 1)) {
+                choose(question, later.chosenAnswers[question]);
+            }
+            return this;
+        }
+
+        GradedSheet toSheet(String student, boolean[][] rightAnswers, int rightAnswersCountToPass) {
+            int rightAnswersCount = 0;
+            for (int question = answered.nextSetBit(0); question >= 0; question = answered.nextSetBit(question + 1)) {
+                if (rightAnswers[question][chosenAnswers[question]]) {
+                    rightAnswersCount++;
+                }
+            }
+            return new GradedSheet(student, answered.cardinality(), rightAnswersCount,
+                    rightAnswersCount >= rightAnswersCountToPass);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package ru.otus.hw.service;
+
+import java.io.PrintStream;
+
+/**
+ * Collects output lines and writes them to the stream in one go. The text goes through the stream itself,
+ * so it is encoded in the stream's charset, e.g. the one of the console.
+ */
+final class BatchedOutput {
+
+    private final PrintStream printStream;
+
+    private final StringBuilder pending = new StringBuilder(1024);
+
+    BatchedOutput(PrintStream printStream) {
+        this.printStream = printStream;
+    }
+
+    StringBuilder buffer() {
+        return pending;
+    }
+
+    void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        printStream.append(pending);
+        pending.setLength(0);
+        printStream.flush();
+    }
+}
@@ -0,0 +1,80 @@
+package ru.otus.hw.service;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Format string compiled once into literal parts and argument slots. Only {@code %s}, {@code %d},
+ * {@code %n} and {@code %%} are supported, other strings have to go through {@link String#format}.
+ */
+final class FormatTemplate {
+
+    private static final FormatTemplate UNSUPPORTED = new FormatTemplate(new String[0]);
+
+    private static final Map<String, FormatTemplate> TEMPLATES = new ConcurrentHashMap<>();
+
+    // literals.length == arguments count + 1, arguments go between literals
+    private final String[] literals;
+
+    private FormatTemplate(String[] literals) {
+        this.literals = literals;
+    }
+
+    static FormatTemplate of(String format) {
+        var template = TEMPLATES.computeIfAbsent(format, FormatTemplate::compile);
+        return template == UNSUPPORTED ? null : template;
+    }
+
+    boolean appendTo(StringBuilder output, Object... args) {
+        if (args.length != literals.length - 1) {
+            return false;
+        }
+        output.append(literals[0]);
+        for (int i = 0; i < args.length; i++) {
+            appendArgument(output, args[i]);
+            output.append(literals[i + 1]);
+        }
+        return true;
+    }
+
+    private static void appendArgument(StringBuilder output, Object arg) {
+        if (arg instanceof Integer value) {
+            output.append(value.intValue());
+        } else if (arg instanceof Long value) {
+            output.append(value.longValue());
+        } else if (arg instanceof CharSequence value) {
+            output.append(value);
+        } else {
+            output.append(arg);
+        }
+    }
+
+    private static FormatTemplate compile(String format) {
+        var literals = new ArrayList<String>();
+        var literal = new StringBuilder();
+        for (int i = 0; i < format.length(); i++) {
+            char c = format.charAt(i);
+            if (c != '%') {
+                literal.append(c);
+                continue;
+            }
+            if (++i == format.length()) {
+                return UNSUPPORTED;
+            }
+            switch (format.charAt(i)) {
+                case 's', 'd' -> {
+                    literals.add(literal.toString());
+                    literal.setLength(0);
+                }
+                case 'n' -> literal.append(System.lineSeparator());
+                case '%' -> literal.append('%');
+                default -> {
+                    return UNSUPPORTED;
+                }
+            }
+        }
+        literals.add(literal.toString());
+        return new FormatTemplate(literals.toArray(String[]::new));
+    }
+}
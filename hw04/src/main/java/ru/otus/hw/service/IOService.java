@@ -1,10 +1,6 @@
 package ru.otus.hw.service;
 
-public interface IOService {
-    void printLine(String s);
-
-    void printFormattedLine(String s, Object ...args);
-
+public interface IOService extends OutputService {
     String readString();
 
     String readStringWithPrompt(String prompt);
@@ -0,0 +1,11 @@
+package ru.otus.hw.service;
+
+import ru.otus.hw.domain.Question;
+
+import java.util.List;
+
+/**
+ * Question bank read ahead of the sessions together with its answer counters.
+ */
+public record LoadedBank(List<Question> questions, BankAnalytics analytics) {
+}
@@ -1,10 +1,6 @@
 package ru.otus.hw.service;
 
-public interface LocalizedIOService extends LocalizedMessagesService, IOService {
-    void printLineLocalized(String code);
-
-    void printFormattedLineLocalized(String code, Object ...args);
-
+public interface LocalizedIOService extends LocalizedOutputService, IOService {
     String readStringWithPromptLocalized(String promptCode);
 
     int readIntForRangeLocalized(int min, int max, String errorMessageCode);
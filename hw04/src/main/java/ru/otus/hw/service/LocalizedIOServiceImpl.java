@@ -1,9 +1,11 @@
 package ru.otus.hw.service;
 
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import ru.otus.hw.metrics.LatencyMetrics;
+
+import java.util.Locale;
 
-@RequiredArgsConstructor
 @Service
 public class LocalizedIOServiceImpl implements LocalizedIOService {
 
@@ -11,6 +13,22 @@ public class LocalizedIOServiceImpl implements LocalizedIOService {
 
     private final IOService ioService;
 
+    // Locale of a single session, null - the application locale
+    private final Locale locale;
+
+    @Autowired
+    public LocalizedIOServiceImpl(LocalizedMessagesService localizedMessagesService, IOService ioService,
+                                  LatencyMetrics latencyMetrics) {
+        this(localizedMessagesService, TimedIOService.wrap(ioService, latencyMetrics), (Locale) null);
+    }
+
+    public LocalizedIOServiceImpl(LocalizedMessagesService localizedMessagesService, IOService ioService,
+                                  Locale locale) {
+        this.localizedMessagesService = localizedMessagesService;
+        this.ioService = ioService;
+        this.locale = locale;
+    }
+
     @Override
     public void printLine(String s) {
         ioService.printLine(s);
@@ -41,36 +59,48 @@ public class LocalizedIOServiceImpl implements LocalizedIOService {
         return ioService.readIntForRangeWithPrompt(min, max, prompt, errorMessage);
     }
 
+    @Override
+    public void flush() {
+        ioService.flush();
+    }
+
     @Override
     public void printLineLocalized(String code) {
-        ioService.printLine(localizedMessagesService.getMessage(code));
+        ioService.printLine(getMessage(code));
     }
 
     @Override
     public void printFormattedLineLocalized(String code, Object... args) {
-        ioService.printLine(localizedMessagesService.getMessage(code, args));
+        ioService.printLine(getMessage(code, args));
     }
 
     @Override
     public String readStringWithPromptLocalized(String promptCode) {
-        return ioService.readStringWithPrompt(localizedMessagesService.getMessage(promptCode));
+        return ioService.readStringWithPrompt(getMessage(promptCode));
     }
 
     @Override
     public int readIntForRangeLocalized(int min, int max, String errorMessageCode) {
-        return ioService.readIntForRange(min, max, localizedMessagesService.getMessage(errorMessageCode));
+        return ioService.readIntForRange(min, max, getMessage(errorMessageCode));
     }
 
     @Override
     public int readIntForRangeWithPromptLocalized(int min, int max, String promptCode, String errorMessageCode) {
         return ioService.readIntForRangeWithPrompt(min, max,
-                localizedMessagesService.getMessage(promptCode),
-                localizedMessagesService.getMessage(errorMessageCode)
+                getMessage(promptCode),
+                getMessage(errorMessageCode)
                 );
     }
 
     @Override
     public String getMessage(String code, Object... args) {
-        return localizedMessagesService.getMessage(code, args);
+        return locale == null
+                ? localizedMessagesService.getMessage(code, args)
+                : localizedMessagesService.getMessage(locale, code, args);
+    }
+
+    @Override
+    public String getMessage(Locale messageLocale, String code, Object... args) {
+        return localizedMessagesService.getMessage(messageLocale, code, args);
     }
 }
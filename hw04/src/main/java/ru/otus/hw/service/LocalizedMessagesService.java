@@ -1,5 +1,9 @@
 package ru.otus.hw.service;
 
+import java.util.Locale;
+
 public interface LocalizedMessagesService {
     String getMessage(String code, Object ...args);
+
+    String getMessage(Locale locale, String code, Object ...args);
 }
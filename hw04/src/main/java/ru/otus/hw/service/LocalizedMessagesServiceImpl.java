@@ -1,13 +1,26 @@
 package ru.otus.hw.service;
 
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.MessageSource;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.support.AbstractResourceBasedMessageSource;
 import org.springframework.stereotype.Service;
 import ru.otus.hw.config.LocaleConfig;
+import ru.otus.hw.config.MessageCacheConfig;
+import ru.otus.hw.metrics.LatencyMetrics;
 
 import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
+@Slf4j
 @RequiredArgsConstructor
+@Primary
 @Service
 public class LocalizedMessagesServiceImpl implements LocalizedMessagesService {
 
@@ -15,9 +28,78 @@ public class LocalizedMessagesServiceImpl implements LocalizedMessagesService {
 
     private final MessageSource messageSource;
 
+    private final MessageCacheConfig messageCacheConfig;
+
+    private final LatencyMetrics latencyMetrics;
+
+    private final Map<Locale, Map<String, MessageTemplate>> templatesByLocale = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    @PostConstruct
+    public void preload() {
+        if (!(messageSource instanceof AbstractResourceBasedMessageSource resourceBasedMessageSource)) {
+            return;
+        }
+        var control = ResourceBundle.Control.getNoFallbackControl(ResourceBundle.Control.FORMAT_PROPERTIES);
+        for (var locale : localeConfig.getSupportedLocales()) {
+            for (var basename : resourceBasedMessageSource.getBasenameSet()) {
+                try {
+                    var bundle = ResourceBundle.getBundle(basename, locale, getClass().getClassLoader(), control);
+                    bundle.keySet().forEach(code -> compile(code, locale));
+                } catch (MissingResourceException e) {
+                    log.debug("No messages {} for locale {}", basename, locale);
+                }
+            }
+        }
+    }
+
     @Override
     public String getMessage(String code, Object... args) {
-        Locale locale = localeConfig.getLocale();
-        return messageSource.getMessage(code, args, locale);
+        return getMessage(localeConfig.getLocale(), code, args);
+    }
+
+    @Override
+    public String getMessage(Locale locale, String code, Object... args) {
+        long start = latencyMetrics.start();
+        var message = format(locale, code, args);
+        latencyMetrics.stop(LatencyMetrics.MESSAGES_GET, start);
+        return message;
+    }
+
+    public MessageCacheStats getCacheStats() {
+        int size = templatesByLocale.values().stream().mapToInt(Map::size).sum();
+        return new MessageCacheStats(size, hits.sum(), misses.sum());
+    }
+
+    private String format(Locale locale, String code, Object[] args) {
+        var templates = templatesByLocale.get(locale);
+        var template = templates == null ? null : templates.get(code);
+        if (messageCacheConfig.isMessageCacheStatsEnabled()) {
+            (template == null ? misses : hits).increment();
+        }
+        if (template == null) {
+            template = compile(code, locale);
+        }
+        return template == null ? messageSource.getMessage(code, args, locale) : template.format(args);
+    }
+
+    // Without arguments MessageSource returns the message as is, the pattern is parsed here only once
+    private MessageTemplate compile(String code, Locale locale) {
+        var pattern = messageSource.getMessage(code, null, locale);
+        MessageTemplate template;
+        try {
+            template = MessageTemplate.compile(pattern, locale);
+        } catch (IllegalArgumentException e) {
+            log.warn("Message {} is not a valid pattern and will not be cached", code);
+            return null;
+        }
+        templatesByLocale.computeIfAbsent(locale, l -> new ConcurrentHashMap<>()).putIfAbsent(code, template);
+        return template;
+    }
+
+    public record MessageCacheStats(int templatesCount, long hits, long misses) {
     }
 }
@@ -0,0 +1,7 @@
+package ru.otus.hw.service;
+
+public interface LocalizedOutputService extends LocalizedMessagesService, OutputService {
+    void printLineLocalized(String code);
+
+    void printFormattedLineLocalized(String code, Object ...args);
+}
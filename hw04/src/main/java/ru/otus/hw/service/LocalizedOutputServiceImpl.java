@@ -0,0 +1,56 @@
+package ru.otus.hw.service;
+
+import lombok.RequiredArgsConstructor;
+
+import java.util.Locale;
+
+/**
+ * Localized writes of a single session that has no input stream to read from.
+ */
+@RequiredArgsConstructor
+public class LocalizedOutputServiceImpl implements LocalizedOutputService {
+
+    private final LocalizedMessagesService localizedMessagesService;
+
+    private final OutputService outputService;
+
+    // Locale of the session, null - the application locale
+    private final Locale locale;
+
+    @Override
+    public void printLine(String s) {
+        outputService.printLine(s);
+    }
+
+    @Override
+    public void printFormattedLine(String s, Object... args) {
+        outputService.printFormattedLine(s, args);
+    }
+
+    @Override
+    public void flush() {
+        outputService.flush();
+    }
+
+    @Override
+    public void printLineLocalized(String code) {
+        outputService.printLine(getMessage(code));
+    }
+
+    @Override
+    public void printFormattedLineLocalized(String code, Object... args) {
+        outputService.printLine(getMessage(code, args));
+    }
+
+    @Override
+    public String getMessage(String code, Object... args) {
+        return locale == null
+                ? localizedMessagesService.getMessage(code, args)
+                : localizedMessagesService.getMessage(locale, code, args);
+    }
+
+    @Override
+    public String getMessage(Locale messageLocale, String code, Object... args) {
+        return localizedMessagesService.getMessage(messageLocale, code, args);
+    }
+}
@@ -0,0 +1,121 @@
+package ru.otus.hw.service;
+
+import java.text.DecimalFormatSymbols;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Locale;
+
+/**
+ * Message pattern parsed once for a locale. Patterns with only plain {@code {n}} placeholders are
+ * rendered by concatenation, anything else goes through a shared {@link MessageFormat} under its lock,
+ * the same way {@code MessageSource} formats with arguments.
+ */
+final class MessageTemplate {
+
+    private static final int PLAIN_NUMBER_LIMIT = 1000;
+
+    private final String pattern;
+
+    private final MessageFormat messageFormat;
+
+    // null when the pattern has typed or styled arguments, otherwise literals.length == argumentIndexes.length + 1
+    private final String[] literals;
+
+    private final int[] argumentIndexes;
+
+    private final boolean asciiDigits;
+
+    private MessageTemplate(String pattern, Locale locale, String[] literals, int[] argumentIndexes) {
+        this.pattern = pattern;
+        this.messageFormat = new MessageFormat(pattern, locale);
+        this.literals = literals;
+        this.argumentIndexes = argumentIndexes;
+        this.asciiDigits = DecimalFormatSymbols.getInstance(locale).getZeroDigit() == '0';
+    }
+
+    static MessageTemplate compile(String pattern, Locale locale) {
+        var literals = new ArrayList<String>();
+        var indexes = new ArrayList<Integer>();
+        var literal = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '\'') {
+                    literal.append('\'');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == '{' && !quoted) {
+                int end = pattern.indexOf('}', i);
+                int index = end < 0 ? -1 : parseIndex(pattern, i + 1, end);
+                if (index < 0) {
+                    return new MessageTemplate(pattern, locale, null, null);
+                }
+                literals.add(literal.toString());
+                literal.setLength(0);
+                indexes.add(index);
+                i = end;
+            } else {
+                literal.append(c);
+            }
+        }
+        literals.add(literal.toString());
+        return new MessageTemplate(pattern, locale, literals.toArray(String[]::new),
+                indexes.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    String format(Object... args) {
+        if (args == null || args.length == 0) {
+            return pattern;
+        }
+        if (literals == null || !isPlain(args)) {
+            synchronized (messageFormat) {
+                return messageFormat.format(args);
+            }
+        }
+        var result = new StringBuilder(pattern.length() + 16 * argumentIndexes.length);
+        result.append(literals[0]);
+        for (int i = 0; i < argumentIndexes.length; i++) {
+            int index = argumentIndexes[i];
+            if (index < args.length) {
+                result.append(args[index]);
+            } else {
+                result.append('{').append(index).append('}');
+            }
+            result.append(literals[i + 1]);
+        }
+        return result.toString();
+    }
+
+    // Arguments that MessageFormat renders exactly as their toString
+    private boolean isPlain(Object[] args) {
+        for (var arg : args) {
+            if (arg instanceof Integer || arg instanceof Long || arg instanceof Short || arg instanceof Byte) {
+                long value = ((Number) arg).longValue();
+                if (!asciiDigits || value < 0 || value >= PLAIN_NUMBER_LIMIT) {
+                    return false;
+                }
+            } else if (arg != null && !(arg instanceof String)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int parseIndex(String pattern, int start, int end) {
+        if (start == end || end - start > 4) {
+            return -1;
+        }
+        int index = 0;
+        for (int i = start; i < end; i++) {
+            char c = pattern.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            index = index * 10 + (c - '0');
+        }
+        return index;
+    }
+}
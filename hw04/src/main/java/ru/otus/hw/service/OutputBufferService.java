@@ -0,0 +1,22 @@
+package ru.otus.hw.service;
+
+public class OutputBufferService implements OutputService {
+
+    private final StringBuilder output = new StringBuilder();
+
+    @Override
+    public void printLine(String s) {
+        output.append(s).append(System.lineSeparator());
+    }
+
+    @Override
+    public void printFormattedLine(String s, Object... args) {
+        output.append(s.formatted(args)).append(System.lineSeparator());
+    }
+
+    public String drain() {
+        var s = output.toString();
+        output.setLength(0);
+        return s;
+    }
+}
@@ -0,0 +1,10 @@
+package ru.otus.hw.service;
+
+public interface OutputService {
+    void printLine(String s);
+
+    void printFormattedLine(String s, Object ...args);
+
+    default void flush() {
+    }
+}
@@ -0,0 +1,45 @@
+package ru.otus.hw.service;
+
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.domain.QuestionStats;
+
+import java.util.List;
+
+/**
+ * Questions are identified by the file of their bank and their position in it.
+ */
+public interface QuestionAnalyticsService {
+    /**
+     * Counters of the bank, created from the bank read through the question DAO when there are none yet.
+     */
+    BankAnalytics getBank(String fileName);
+
+    /**
+     * Counters of the bank built from the given questions, replaced when they were built from other ones.
+     * Never reads the bank.
+     */
+    BankAnalytics getBank(String fileName, List<Question> questions);
+
+    default void registerAnswer(String fileName, int questionIndex, int chosenAnswerIndex, boolean isRightAnswer) {
+        getBank(fileName).registerAnswer(questionIndex, chosenAnswerIndex, isRightAnswer);
+    }
+
+    /**
+     * Share of right answers to the question with one right and one wrong answer added,
+     * so questions nobody answered yet are rated 0.5.
+     */
+    double getRightAnswersRate(String fileName, int questionIndex);
+
+    /**
+     * Difficulty buckets of the bank built from {@link #getRightAnswersRate(String, int)}. The snapshot is shared
+     * and rebuilt after as many new answers to the bank as it has questions.
+     */
+    default QuestionDifficulties getDifficulties(String fileName) {
+        return getBank(fileName).getDifficulties();
+    }
+
+    /**
+     * Statistics of the current question bank, in the bank order.
+     */
+    List<QuestionStats> getStats();
+}
@@ -0,0 +1,160 @@
+package ru.otus.hw.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import ru.otus.hw.config.TestFileNameProvider;
+import ru.otus.hw.dao.QuestionBankChangedEvent;
+import ru.otus.hw.dao.QuestionDao;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.domain.QuestionStats;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Answer counters per bank: an array indexed by question position, created when a session first resolves
+ * the bank and dropped when its file changes. Sessions keep the counters of their bank, so an answer
+ * is only an array read and {@link LongAdder} increments.
+ */
+@Service
+@RequiredArgsConstructor
+public class QuestionAnalyticsServiceImpl implements QuestionAnalyticsService {
+
+    private final QuestionDao questionDao;
+
+    private final TestFileNameProvider fileNameProvider;
+
+    private final Map<String, BankCounters> banks = new ConcurrentHashMap<>();
+
+    @Override
+    public BankAnalytics getBank(String fileName) {
+        return bank(fileName);
+    }
+
+    @Override
+    public BankAnalytics getBank(String fileName, List<Question> questions) {
+        var bank = banks.get(fileName);
+        if (bank != null && bank.questions.equals(questions)) {
+            return bank;
+        }
+        return banks.compute(fileName, (name, current) ->
+                current != null && current.questions.equals(questions) ? current : new BankCounters(questions));
+    }
+
+    @Override
+    public double getRightAnswersRate(String fileName, int questionIndex) {
+        var bank = banks.get(fileName);
+        var counters = bank == null ? null : bank.counters(questionIndex);
+        return counters == null ? 0.5 : counters.getRightAnswersRate();
+    }
+
+    @Override
+    public List<QuestionStats> getStats() {
+        var bank = bank(fileNameProvider.getTestFileName());
+        var stats = new QuestionStats[bank.questions.size()];
+        for (int i = 0; i < stats.length; i++) {
+            var counters = bank.counters[i];
+            var chosenAnswers = new long[counters.chosenAnswers.length];
+            for (int j = 0; j < chosenAnswers.length; j++) {
+                chosenAnswers[j] = counters.chosenAnswers[j].sum();
+            }
+            stats[i] = new QuestionStats(bank.questions.get(i), counters.attempts.sum(),
+                    counters.rightAnswers.sum(), chosenAnswers);
+        }
+        return List.of(stats);
+    }
+
+    // Before the listeners that load the bank again and resolve its new counters
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @EventListener
+    public void onQuestionBankChanged(QuestionBankChangedEvent event) {
+        banks.remove(event.fileName());
+    }
+
+    private BankCounters bank(String fileName) {
+        var bank = banks.get(fileName);
+        if (bank == null) {
+            bank = banks.computeIfAbsent(fileName, name -> new BankCounters(questionDao.findAll(name)));
+        }
+        return bank;
+    }
+
+    private static final class BankCounters implements BankAnalytics {
+
+        private final List<Question> questions;
+
+        private final Counters[] counters;
+
+        private final LongAdder answers = new LongAdder();
+
+        private volatile QuestionDifficulties difficulties;
+
+        // Answers to the bank when the difficulties were built
+        private volatile long difficultiesAnswers;
+
+        private BankCounters(List<Question> questions) {
+            this.questions = List.copyOf(questions);
+            this.counters = new Counters[questions.size()];
+            for (int i = 0; i < counters.length; i++) {
+                counters[i] = new Counters(questions.get(i).answers().size());
+            }
+        }
+
+        Counters counters(int questionIndex) {
+            return questionIndex >= 0 && questionIndex < counters.length ? counters[questionIndex] : null;
+        }
+
+        @Override
+        public void registerAnswer(int questionIndex, int chosenAnswerIndex, boolean isRightAnswer) {
+            var questionCounters = counters(questionIndex);
+            // Out of range only for a session that started on the previous version of the bank
+            if (questionCounters == null || chosenAnswerIndex >= questionCounters.chosenAnswers.length) {
+                return;
+            }
+            questionCounters.attempts.increment();
+            answers.increment();
+            if (isRightAnswer) {
+                questionCounters.rightAnswers.increment();
+            }
+            questionCounters.chosenAnswers[chosenAnswerIndex].increment();
+        }
+
+        // Two sessions may rebuild a stale snapshot at once, either result will do
+        @Override
+        public QuestionDifficulties getDifficulties() {
+            var snapshot = difficulties;
+            long answersCount = answers.sum();
+            if (snapshot == null || answersCount - difficultiesAnswers >= Math.max(counters.length, 1)) {
+                snapshot = QuestionDifficulties.of(counters.length, index -> counters[index].getRightAnswersRate());
+                difficultiesAnswers = answersCount;
+                difficulties = snapshot;
+            }
+            return snapshot;
+        }
+    }
+
+    private static final class Counters {
+
+        private final LongAdder attempts = new LongAdder();
+
+        private final LongAdder rightAnswers = new LongAdder();
+
+        private final LongAdder[] chosenAnswers;
+
+        private Counters(int answersCount) {
+            chosenAnswers = new LongAdder[answersCount];
+            for (int i = 0; i < answersCount; i++) {
+                chosenAnswers[i] = new LongAdder();
+            }
+        }
+
+        double getRightAnswersRate() {
+            return (rightAnswers.sum() + 1.0) / (attempts.sum() + 2.0);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package ru.otus.hw.service;
+
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Snapshot of the difficulty of a bank: question positions grouped into buckets by the share of right answers,
+ * each bucket with the mean difficulty logit of its questions centred on the bank mean. Built once per bank and
+ * shared by the sessions, so the adaptive selection looks at a fixed number of buckets instead of every question.
+ */
+public final class QuestionDifficulties {
+
+    static final int BUCKETS_COUNT = 20;
+
+    static final double MIN_PROBABILITY = 0.01;
+
+    private final int questionsCount;
+
+    // Positions of the questions in every bucket, from the hardest bucket to the easiest
+    private final int[][] buckets;
+
+    private final double[] bucketLogits;
+
+    private QuestionDifficulties(int questionsCount, int[][] buckets, double[] bucketLogits) {
+        this.questionsCount = questionsCount;
+        this.buckets = buckets;
+        this.bucketLogits = bucketLogits;
+    }
+
+    /**
+     * @param rightAnswersRate smoothed share of right answers to a question, by its position
+     */
+    public static QuestionDifficulties of(int questionsCount, IntToDoubleFunction rightAnswersRate) {
+        var logits = new double[questionsCount];
+        var bucketOf = new int[questionsCount];
+        var sizes = new int[BUCKETS_COUNT];
+        double meanLogit = 0;
+        for (int i = 0; i < questionsCount; i++) {
+            double rate = rightAnswersRate.applyAsDouble(i);
+            logits[i] = logit(rate);
+            meanLogit += logits[i];
+            bucketOf[i] = Math.min(Math.max((int) (rate * BUCKETS_COUNT), 0), BUCKETS_COUNT - 1);
+            sizes[bucketOf[i]]++;
+        }
+        meanLogit /= Math.max(questionsCount, 1);
+
+        var buckets = new int[BUCKETS_COUNT][];
+        for (int b = 0; b < BUCKETS_COUNT; b++) {
+            buckets[b] = new int[sizes[b]];
+        }
+        var filled = new int[BUCKETS_COUNT];
+        var bucketLogits = new double[BUCKETS_COUNT];
+        for (int i = 0; i < questionsCount; i++) {
+            int bucket = bucketOf[i];
+            buckets[bucket][filled[bucket]++] = i;
+            bucketLogits[bucket] += logits[i] - meanLogit;
+        }
+        for (int b = 0; b < BUCKETS_COUNT; b++) {
+            bucketLogits[b] /= Math.max(sizes[b], 1);
+        }
+        return new QuestionDifficulties(questionsCount, buckets, bucketLogits);
+    }
+
+    public int getQuestionsCount() {
+        return questionsCount;
+    }
+
+    int[] bucket(int bucket) {
+        return buckets[bucket];
+    }
+
+    double bucketLogit(int bucket) {
+        return bucketLogits[bucket];
+    }
+
+    static double logit(double probability) {
+        double p = Math.min(Math.max(probability, MIN_PROBABILITY), 1 - MIN_PROBABILITY);
+        return Math.log(p / (1 - p));
+    }
+}
@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import ru.otus.hw.config.TestConfig;
 import ru.otus.hw.domain.TestResult;
+import ru.otus.hw.metrics.LatencyMetrics;
 
 @Service
 @RequiredArgsConstructor
@@ -11,23 +12,32 @@ public class ResultServiceImpl implements ResultService {
 
     private final TestConfig testConfig;
 
-    private final LocalizedIOService ioService;
+    private final LocalizedOutputService ioService;
+
+    private final LatencyMetrics latencyMetrics;
 
     @Override
     public void showResult(TestResult testResult) {
+        long start = latencyMetrics.start();
+        printResult(testResult);
+        latencyMetrics.stop(LatencyMetrics.RESULT_SHOW, start);
+    }
+
+    private void printResult(TestResult testResult) {
         ioService.printLine("");
         ioService.printLineLocalized("ResultService.test.results");
         ioService.printFormattedLineLocalized("ResultService.student",
                 testResult.getStudent().getFullName());
         ioService.printFormattedLineLocalized("ResultService.answered.questions.count",
-                testResult.getAnsweredQuestions().size());
+                testResult.getAnsweredQuestionsCount());
         ioService.printFormattedLineLocalized("ResultService.right.answers.count",
                 testResult.getRightAnswersCount());
 
         if (testResult.getRightAnswersCount() >= testConfig.getRightAnswersCountToPass()) {
             ioService.printLineLocalized("ResultService.passed.test");
-            return;
+        } else {
+            ioService.printLineLocalized("ResultService.fail.test");
         }
-        ioService.printLineLocalized("ResultService.fail.test");
+        ioService.flush();
     }
 }
@@ -0,0 +1,24 @@
+package ru.otus.hw.service;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+public interface ScriptedRunService {
+
+    /**
+     * Runs one testing session per script line {@code firstName;lastName;answerNumber answerNumber ...}
+     * on a pool of {@code threads} threads, without a console and without saving the results.
+     * Blank lines and lines starting with {@code #} are skipped.
+     *
+     * @param locale one of the supported locales, null - the application locale
+     */
+    ScriptedRunReport run(Path script, int threads, Locale locale);
+
+    record ScriptedRunReport(int sessionsCount, int failedCount, int passedCount, long elapsedNanos,
+                             long p50Nanos, long p90Nanos, long p99Nanos, long maxNanos) {
+
+        public double sessionsPerSecond() {
+            return elapsedNanos == 0 ? 0 : sessionsCount * 1_000_000_000.0 / elapsedNanos;
+        }
+    }
+}
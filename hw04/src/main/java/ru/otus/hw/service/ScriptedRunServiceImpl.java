@@ -0,0 +1,143 @@
+package ru.otus.hw.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import ru.otus.hw.config.TestConfig;
+import ru.otus.hw.dao.QuestionDao;
+import ru.otus.hw.domain.SessionContext;
+import ru.otus.hw.domain.TestResult;
+import ru.otus.hw.metrics.LatencyMetrics;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ScriptedRunServiceImpl implements ScriptedRunService {
+
+    private static final String SEPARATOR = ";";
+
+    private static final Pattern ANSWERS_SEPARATOR = Pattern.compile("[\\s,]+");
+
+    private final LocalizedMessagesService messagesService;
+
+    private final QuestionDao questionDao;
+
+    private final TestConfig testConfig;
+
+    private final SessionEngine sessionEngine;
+
+    private final LatencyMetrics latencyMetrics;
+
+    @Override
+    public ScriptedRunReport run(Path script, int threads, Locale locale) {
+        var sessionContext = sessionEngine.createContext(locale);
+        // Scripted answers must not skew the statistics and difficulties of real sessions
+        var analytics = new QuestionAnalyticsServiceImpl(questionDao, sessionContext::testFileName);
+        var inputs = readScript(script);
+        var outcomes = new SessionOutcome[inputs.size()];
+
+        var executor = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        try {
+            var sessions = new ArrayList<CompletableFuture<Void>>(inputs.size());
+            for (int i = 0; i < inputs.size(); i++) {
+                int index = i;
+                sessions.add(CompletableFuture.runAsync(
+                        () -> outcomes[index] = runSession(inputs.get(index), sessionContext, analytics), executor));
+            }
+            CompletableFuture.allOf(sessions.toArray(CompletableFuture[]::new)).join();
+        } finally {
+            executor.shutdown();
+        }
+        return report(outcomes, System.nanoTime() - start);
+    }
+
+    // Input of one session as the console would get it: first name, last name, then one answer per line
+    private static List<byte[]> readScript(Path script) {
+        try (var lines = Files.lines(script, StandardCharsets.UTF_8)) {
+            return lines.map(String::strip)
+                    .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                    .map(ScriptedRunServiceImpl::toSessionInput)
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read session script " + script, e);
+        }
+    }
+
+    private static byte[] toSessionInput(String line) {
+        var parts = line.split(SEPARATOR, 3);
+        var input = new StringBuilder();
+        for (int i = 0; i < Math.min(parts.length, 2); i++) {
+            input.append(parts[i].strip()).append('\n');
+        }
+        if (parts.length == 3) {
+            for (var answer : ANSWERS_SEPARATOR.split(parts[2].strip())) {
+                input.append(answer).append('\n');
+            }
+        }
+        return input.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private SessionOutcome runSession(byte[] input, SessionContext sessionContext,
+                                      QuestionAnalyticsService analytics) {
+        long start = System.nanoTime();
+        var out = new PrintStream(OutputStream.nullOutputStream(), false, StandardCharsets.UTF_8);
+        var streamsIOService = new StreamsIOService(out, new ByteArrayInputStream(input), true);
+        var ioService = new LocalizedIOServiceImpl(messagesService,
+                TimedIOService.wrap(streamsIOService, latencyMetrics), sessionContext.locale());
+        try {
+            var student = new StudentServiceImpl(ioService).determineCurrentStudent();
+            TestResult testResult = new TestServiceImpl(ioService, questionDao, sessionContext.testFileName(),
+                    testConfig, analytics).executeTestFor(student);
+            new ResultServiceImpl(testConfig, ioService, latencyMetrics).showResult(testResult);
+            boolean passed = testResult.getRightAnswersCount() >= testConfig.getRightAnswersCountToPass();
+            return new SessionOutcome(System.nanoTime() - start, passed, false);
+        } catch (RuntimeException e) {
+            log.debug("Scripted session failed", e);
+            return new SessionOutcome(System.nanoTime() - start, false, true);
+        }
+    }
+
+    private static ScriptedRunReport report(SessionOutcome[] outcomes, long elapsedNanos) {
+        var latencies = new long[outcomes.length];
+        int failedCount = 0;
+        int passedCount = 0;
+        for (int i = 0; i < outcomes.length; i++) {
+            latencies[i] = outcomes[i].latencyNanos();
+            failedCount += outcomes[i].failed() ? 1 : 0;
+            passedCount += outcomes[i].passed() ? 1 : 0;
+        }
+        Arrays.sort(latencies);
+        return new ScriptedRunReport(outcomes.length, failedCount, passedCount, elapsedNanos,
+                percentile(latencies, 0.5), percentile(latencies, 0.9), percentile(latencies, 0.99),
+                latencies.length == 0 ? 0 : latencies[latencies.length - 1]);
+    }
+
+    // Nearest-rank percentile of sorted values
+    private static long percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(fraction * sorted.length);
+        return sorted[Math.max(rank - 1, 0)];
+    }
+
+    private record SessionOutcome(long latencyNanos, boolean passed, boolean failed) {
+    }
+}
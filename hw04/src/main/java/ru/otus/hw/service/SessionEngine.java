@@ -0,0 +1,34 @@
+package ru.otus.hw.service;
+
+import ru.otus.hw.domain.SessionContext;
+import ru.otus.hw.domain.TestResult;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+
+public interface SessionEngine {
+    /**
+     * @throws java.util.concurrent.RejectedExecutionException when the session limit is reached and
+     *                                                         the waiting queue is full
+     */
+    CompletableFuture<TestResult> startSession(InputStream inputStream, OutputStream outputStream,
+                                               SessionContext sessionContext);
+
+    /**
+     * Reads the whole bank of the session and resolves its answer counters, for conversations that must not
+     * read files themselves.
+     */
+    LoadedBank loadBank(SessionContext sessionContext);
+
+    /**
+     * @param bank bank of the session loaded by {@link #loadBank(SessionContext)}
+     */
+    TestConversation startConversation(SessionContext sessionContext, LoadedBank bank);
+
+    /**
+     * @param locale one of the supported locales, null - the application locale
+     */
+    SessionContext createContext(Locale locale);
+}
@@ -0,0 +1,155 @@
+package ru.otus.hw.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import ru.otus.hw.config.LocaleConfig;
+import ru.otus.hw.config.SessionConfig;
+import ru.otus.hw.config.TestConfig;
+import ru.otus.hw.config.TestFileNameProvider;
+import ru.otus.hw.dao.QuestionDao;
+import ru.otus.hw.dao.TestResultDao;
+import ru.otus.hw.domain.SessionContext;
+import ru.otus.hw.domain.SessionRecord;
+import ru.otus.hw.domain.TestResult;
+import ru.otus.hw.metrics.LatencyMetrics;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Service
+public class SessionEngineImpl implements SessionEngine {
+
+    private static final long IDLE_THREAD_SECONDS = 60;
+
+    private final LocalizedMessagesService messagesService;
+
+    private final QuestionDao questionDao;
+
+    private final TestConfig testConfig;
+
+    private final TestResultDao testResultDao;
+
+    private final LocaleConfig localeConfig;
+
+    private final TestFileNameProvider fileNameProvider;
+
+    private final QuestionAnalyticsService questionAnalyticsService;
+
+    private final LatencyMetrics latencyMetrics;
+
+    private final ExecutorService executor;
+
+    public SessionEngineImpl(LocalizedMessagesService messagesService, QuestionDao questionDao,
+                             TestConfig testConfig, TestResultDao testResultDao, LocaleConfig localeConfig,
+                             TestFileNameProvider fileNameProvider,
+                             QuestionAnalyticsService questionAnalyticsService, LatencyMetrics latencyMetrics,
+                             SessionConfig sessionConfig) {
+        this.messagesService = messagesService;
+        this.questionDao = questionDao;
+        this.testConfig = testConfig;
+        this.testResultDao = testResultDao;
+        this.localeConfig = localeConfig;
+        this.fileNameProvider = fileNameProvider;
+        this.questionAnalyticsService = questionAnalyticsService;
+        this.latencyMetrics = latencyMetrics;
+        this.executor = newSessionExecutor(sessionConfig);
+    }
+
+    @Override
+    public CompletableFuture<TestResult> startSession(InputStream inputStream, OutputStream outputStream,
+                                                      SessionContext sessionContext) {
+        return CompletableFuture.supplyAsync(() -> runSession(inputStream, outputStream, sessionContext), executor);
+    }
+
+    @Override
+    public LoadedBank loadBank(SessionContext sessionContext) {
+        var questions = List.copyOf(questionDao.findAll(sessionContext.testFileName()));
+        return new LoadedBank(questions, questionAnalyticsService.getBank(sessionContext.testFileName(), questions));
+    }
+
+    @Override
+    public TestConversation startConversation(SessionContext sessionContext, LoadedBank bank) {
+        return new TestConversation(messagesService, bank, testConfig, latencyMetrics, sessionContext,
+                testResult -> save(testResult, sessionContext).exceptionally(e -> {
+                    log.error("Unable to save result of {}", testResult.getStudent().getFullName(), e);
+                    return null;
+                }));
+    }
+
+    @Override
+    public SessionContext createContext(Locale locale) {
+        var sessionLocale = locale == null ? localeConfig.getLocale() : locale;
+        if (locale != null && !localeConfig.getSupportedLocales().contains(locale)) {
+            throw new IllegalArgumentException("Unsupported locale: " + locale.toLanguageTag());
+        }
+        return new SessionContext(sessionLocale, fileNameProvider.getTestFileName(sessionLocale));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private TestResult runSession(InputStream inputStream, OutputStream outputStream,
+                                  SessionContext sessionContext) {
+        var printStream = new PrintStream(outputStream, false, StandardCharsets.UTF_8);
+        var streamsIOService = new StreamsIOService(printStream, inputStream, true);
+        var ioService = new LocalizedIOServiceImpl(messagesService,
+                TimedIOService.wrap(streamsIOService, latencyMetrics), sessionContext.locale());
+        var student = new StudentServiceImpl(ioService).determineCurrentStudent();
+        var testResult = new TestServiceImpl(ioService, questionDao, sessionContext.testFileName(), testConfig,
+                questionAnalyticsService).executeTestFor(student);
+        new ResultServiceImpl(testConfig, ioService, latencyMetrics).showResult(testResult);
+        save(testResult, sessionContext).join();
+        return testResult;
+    }
+
+    private CompletableFuture<Void> save(TestResult testResult, SessionContext sessionContext) {
+        return testResultDao.save(new SessionRecord(System.currentTimeMillis(), sessionContext.locale(), testResult));
+    }
+
+    // A thread per session up to the limit, then a bounded queue, then RejectedExecutionException
+    private static ExecutorService newSessionExecutor(SessionConfig sessionConfig) {
+        int maxSessions = sessionConfig.getMaxConcurrentSessions();
+        var threadFactory = virtualThreadFactory();
+        if (maxSessions <= 0) {
+            return threadFactory == null
+                    ? Executors.newCachedThreadPool()
+                    : Executors.newCachedThreadPool(threadFactory);
+        }
+        int queueCapacity = sessionConfig.getSessionQueueCapacity();
+        BlockingQueue<Runnable> queue = queueCapacity > 0
+                ? new ArrayBlockingQueue<>(queueCapacity)
+                : new SynchronousQueue<>();
+        var executor = new ThreadPoolExecutor(maxSessions, maxSessions, IDLE_THREAD_SECONDS, TimeUnit.SECONDS, queue,
+                threadFactory == null ? Executors.defaultThreadFactory() : threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    // Virtual threads appear only in Java 21, the module is built for 17
+    private static ThreadFactory virtualThreadFactory() {
+        try {
+            var builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            log.info("Virtual threads are not available, sessions run on platform threads");
+            return null;
+        }
+    }
+}
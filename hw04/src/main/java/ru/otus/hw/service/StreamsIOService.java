@@ -1,7 +1,9 @@
 package ru.otus.hw.service;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import ru.otus.hw.config.OutputConfig;
 
 import java.io.InputStream;
 import java.io.PrintStream;
@@ -15,39 +17,71 @@ public class StreamsIOService implements IOService {
 
     private final Scanner scanner;
 
+    private final BatchedOutput batchedOutput;
+
+    @Autowired
     public StreamsIOService(@Value("#{T(System).out}") PrintStream printStream,
-                            @Value("#{T(System).in}") InputStream inputStream) {
+                            @Value("#{T(System).in}") InputStream inputStream,
+                            OutputConfig outputConfig) {
+        this(printStream, inputStream, outputConfig.isBufferedOutput());
+    }
+
+    public StreamsIOService(PrintStream printStream, InputStream inputStream) {
+        this(printStream, inputStream, false);
+    }
 
+    /**
+     * With buffered output, lines are kept in a buffer and written out before the next read or on {@link #flush()}.
+     */
+    public StreamsIOService(PrintStream printStream, InputStream inputStream, boolean bufferedOutput) {
         this.printStream = printStream;
         this.scanner = new Scanner(inputStream);
+        this.batchedOutput = bufferedOutput ? new BatchedOutput(printStream) : null;
     }
 
     @Override
     public void printLine(String s) {
-        printStream.println(s);
+        if (batchedOutput == null) {
+            printStream.println(s);
+            return;
+        }
+        batchedOutput.buffer().append(s).append(System.lineSeparator());
     }
 
     @Override
     public void printFormattedLine(String s, Object... args) {
-        printStream.printf(s + "%n", args);
+        var template = FormatTemplate.of(s);
+        if (batchedOutput == null || template == null) {
+            printLine(String.format(s, args));
+            return;
+        }
+        var buffer = batchedOutput.buffer();
+        int length = buffer.length();
+        if (!template.appendTo(buffer, args)) {
+            buffer.setLength(length);
+            printLine(String.format(s, args));
+            return;
+        }
+        buffer.append(System.lineSeparator());
     }
 
     @Override
     public String readString() {
+        flush();
         return scanner.nextLine();
     }
 
     @Override
     public String readStringWithPrompt(String prompt) {
         printLine(prompt);
-        return scanner.nextLine();
+        return readString();
     }
 
     @Override
     public int readIntForRange(int min, int max, String errorMessage) {
         for (int i = 0; i < MAX_ATTEMPTS; i++) {
             try {
-                var stringValue = scanner.nextLine();
+                var stringValue = readString();
                 int intValue = Integer.parseInt(stringValue);
                 if (intValue < min || intValue > max) {
                     throw new IllegalArgumentException();
@@ -57,6 +91,7 @@ public class StreamsIOService implements IOService {
                 printLine(errorMessage);
             }
         }
+        flush();
         throw new IllegalArgumentException("Error during reading int value");
     }
 
@@ -65,4 +100,11 @@ public class StreamsIOService implements IOService {
         printLine(prompt);
         return readIntForRange(min, max, errorMessage);
     }
+
+    @Override
+    public void flush() {
+        if (batchedOutput != null) {
+            batchedOutput.flush();
+        }
+    }
 }
@@ -0,0 +1,143 @@
+package ru.otus.hw.service;
+
+import ru.otus.hw.config.TestConfig;
+import ru.otus.hw.dao.QuestionDao;
+import ru.otus.hw.domain.IndexedQuestion;
+import ru.otus.hw.domain.SessionContext;
+import ru.otus.hw.domain.Student;
+import ru.otus.hw.domain.TestResult;
+import ru.otus.hw.metrics.LatencyMetrics;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Testing session driven by incoming lines instead of blocking reads:
+ * same prompts and messages as {@link TestRunnerServiceImpl}, output is collected until drained.
+ */
+public class TestConversation implements AutoCloseable {
+
+    private static final int MAX_ATTEMPTS = 10;
+
+    private enum State { FIRST_NAME, LAST_NAME, ANSWER, FINISHED }
+
+    private final OutputBufferService output = new OutputBufferService();
+
+    private final LocalizedOutputService outputService;
+
+    private final TestSteps steps;
+
+    private final ResultService resultService;
+
+    private final Consumer<TestResult> onFinished;
+
+    private State state;
+
+    private String firstName;
+
+    private TestResult testResult;
+
+    private Stream<IndexedQuestion> questionStream;
+
+    private Iterator<IndexedQuestion> questions;
+
+    private IndexedQuestion currentQuestion;
+
+    private int invalidAttempts;
+
+    /**
+     * @param bank read before the conversation, so it never reads files itself
+     */
+    public TestConversation(LocalizedMessagesService messagesService, LoadedBank bank, TestConfig testConfig,
+                            LatencyMetrics latencyMetrics, SessionContext sessionContext,
+                            Consumer<TestResult> onFinished) {
+        this.outputService = new LocalizedOutputServiceImpl(messagesService,
+                TimedOutputService.wrap(output, latencyMetrics), sessionContext.locale());
+        this.steps = new TestSteps(outputService, QuestionDao.inMemory(bank.questions()), testConfig,
+                bank.analytics());
+        this.resultService = new ResultServiceImpl(testConfig, outputService, latencyMetrics);
+        this.onFinished = onFinished;
+        outputService.printLineLocalized("StudentService.input.first.name");
+        state = State.FIRST_NAME;
+    }
+
+    public void onLine(String line) {
+        switch (state) {
+            case FIRST_NAME -> {
+                firstName = line;
+                outputService.printLineLocalized("StudentService.input.last.name");
+                state = State.LAST_NAME;
+            }
+            case LAST_NAME -> startTest(new Student(firstName, line));
+            case ANSWER -> applyAnswer(line);
+            case FINISHED -> {
+            }
+        }
+    }
+
+    public boolean isFinished() {
+        return state == State.FINISHED;
+    }
+
+    public TestResult getTestResult() {
+        return testResult;
+    }
+
+    public String drainOutput() {
+        return output.drain();
+    }
+
+    @Override
+    public void close() {
+        if (questionStream != null) {
+            questionStream.close();
+        }
+        state = State.FINISHED;
+    }
+
+    private void startTest(Student student) {
+        testResult = new TestResult(student);
+        steps.printIntroduction();
+        questionStream = steps.selectQuestions(testResult);
+        questions = questionStream.iterator();
+        askNextQuestion();
+    }
+
+    private void askNextQuestion() {
+        if (!questions.hasNext()) {
+            resultService.showResult(testResult);
+            onFinished.accept(testResult);
+            close();
+            return;
+        }
+        currentQuestion = questions.next();
+        invalidAttempts = 0;
+        steps.printQuestion(currentQuestion.question());
+        outputService.printLineLocalized("TestService.enter.answer.prompt");
+        state = State.ANSWER;
+    }
+
+    private void applyAnswer(String line) {
+        var answers = currentQuestion.question().answers();
+        int answerNumber = parseAnswerNumber(line.trim());
+        if (answerNumber < 1 || answerNumber > answers.size()) {
+            outputService.printLineLocalized("TestService.invalid.input.error");
+            if (++invalidAttempts >= MAX_ATTEMPTS) {
+                testResult = null;
+                close();
+            }
+            return;
+        }
+        steps.registerAnswer(currentQuestion, testResult, answerNumber - 1);
+        askNextQuestion();
+    }
+
+    private static int parseAnswerNumber(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -2,6 +2,9 @@ package ru.otus.hw.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import ru.otus.hw.config.LocaleConfig;
+import ru.otus.hw.dao.TestResultDao;
+import ru.otus.hw.domain.SessionRecord;
 
 @Service
 @RequiredArgsConstructor
@@ -13,10 +16,16 @@ public class TestRunnerServiceImpl implements TestRunnerService {
 
     private final ResultService resultService;
 
+    private final TestResultDao testResultDao;
+
+    private final LocaleConfig localeConfig;
+
     @Override
     public void run() {
         var student = studentService.determineCurrentStudent();
         var testResult = testService.executeTestFor(student);
         resultService.showResult(testResult);
+        testResultDao.save(new SessionRecord(System.currentTimeMillis(), localeConfig.getLocale(), testResult))
+                .join();
     }
 }
@@ -1,43 +1,75 @@
 package ru.otus.hw.service;
 
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import ru.otus.hw.config.TestConfig;
+import ru.otus.hw.config.TestFileNameProvider;
 import ru.otus.hw.dao.QuestionDao;
+import ru.otus.hw.domain.IndexedQuestion;
 import ru.otus.hw.domain.Student;
 import ru.otus.hw.domain.TestResult;
 
+import java.util.function.Supplier;
+
 @Service
-@RequiredArgsConstructor
 public class TestServiceImpl implements TestService {
 
     private final LocalizedIOService ioService;
 
     private final QuestionDao questionDao;
 
+    // Bank file of the next test: the current locale's or the one of the session
+    private final Supplier<String> fileName;
+
+    private final TestConfig testConfig;
+
+    private final QuestionAnalyticsService questionAnalyticsService;
+
+    @Autowired
+    public TestServiceImpl(LocalizedIOService ioService, QuestionDao questionDao, TestConfig testConfig,
+                           QuestionAnalyticsService questionAnalyticsService, TestFileNameProvider fileNameProvider) {
+        this(ioService, questionDao, fileNameProvider::getTestFileName, testConfig, questionAnalyticsService);
+    }
+
+    public TestServiceImpl(LocalizedIOService ioService, QuestionDao questionDao, String fileName,
+                           TestConfig testConfig, QuestionAnalyticsService questionAnalyticsService) {
+        this(ioService, questionDao, () -> fileName, testConfig, questionAnalyticsService);
+    }
+
+    private TestServiceImpl(LocalizedIOService ioService, QuestionDao questionDao, Supplier<String> fileName,
+                            TestConfig testConfig, QuestionAnalyticsService questionAnalyticsService) {
+        this.ioService = ioService;
+        this.questionDao = questionDao;
+        this.fileName = fileName;
+        this.testConfig = testConfig;
+        this.questionAnalyticsService = questionAnalyticsService;
+    }
+
     @Override
     public TestResult executeTestFor(Student student) {
-        ioService.printLine("");
-        ioService.printFormattedLineLocalized("TestService.answer.the.questions");
-        var questions = questionDao.findAll();
+        var testFileName = fileName.get();
+        var steps = new TestSteps(ioService, QuestionDao.boundTo(questionDao, testFileName), testConfig,
+                questionAnalyticsService.getBank(testFileName));
+        steps.printIntroduction();
         var testResult = new TestResult(student);
 
-        for (var question: questions) {
-            ioService.printFormattedLineLocalized("TestService.question.format", question.text());
-            var answers = question.answers();
-            for (int i = 0; i < answers.size(); i++) {
-                ioService.printFormattedLineLocalized("TestService.answer.format", i + 1, answers.get(i).text());
-            }
-
-            int userAnswerIndex = ioService.readIntForRangeWithPromptLocalized(
-                    1,
-                    answers.size(),
-                    "TestService.enter.answer.prompt",
-                    "TestService.invalid.input.error"
-            ) - 1;
-
-            boolean isCorrect = answers.get(userAnswerIndex).isCorrect();
-            testResult.applyAnswer(question, isCorrect);
+        try (var questions = steps.selectQuestions(testResult)) {
+            questions.forEach(question -> askQuestion(steps, question, testResult));
         }
         return testResult;
     }
+
+    private void askQuestion(TestSteps steps, IndexedQuestion question, TestResult testResult) {
+        steps.printQuestion(question.question());
+        var answers = question.question().answers();
+
+        int userAnswerIndex = ioService.readIntForRangeWithPromptLocalized(
+                1,
+                answers.size(),
+                "TestService.enter.answer.prompt",
+                "TestService.invalid.input.error"
+        ) - 1;
+
+        steps.registerAnswer(question, testResult, userAnswerIndex);
+    }
 }
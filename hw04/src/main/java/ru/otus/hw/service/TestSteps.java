@@ -0,0 +1,74 @@
+package ru.otus.hw.service;
+
+import lombok.RequiredArgsConstructor;
+import ru.otus.hw.config.TestConfig;
+import ru.otus.hw.dao.QuestionDao;
+import ru.otus.hw.domain.IndexedQuestion;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.domain.TestResult;
+
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Steps shared by {@link TestServiceImpl} and {@link TestConversation}: they only write,
+ * the answers are read by the caller.
+ */
+@RequiredArgsConstructor
+class TestSteps {
+
+    private final LocalizedOutputService outputService;
+
+    // Bound to the bank file of the test
+    private final QuestionDao questionDao;
+
+    private final TestConfig testConfig;
+
+    private final BankAnalytics bankAnalytics;
+
+    void printIntroduction() {
+        outputService.printLine("");
+        outputService.printFormattedLineLocalized("TestService.answer.the.questions");
+    }
+
+    // The adaptive selection reads the answers given so far from the test result
+    Stream<IndexedQuestion> selectQuestions(TestResult testResult) {
+        int questionsPerTest = testConfig.getQuestionsPerTest();
+        if (testConfig.isAdaptiveTesting()) {
+            var questions = questionDao.findAll();
+            var difficulties = bankAnalytics.getDifficulties();
+            if (difficulties.getQuestionsCount() != questions.size()) {
+                // The bank was reloaded between the two reads, its statistics are empty anyway
+                difficulties = QuestionDifficulties.of(questions.size(), index -> 0.5);
+            }
+            var selector = new AdaptiveQuestionSelector(questions, difficulties,
+                    testResult, questionsPerTest > 0 ? questionsPerTest : questions.size(),
+                    testConfig.getRightAnswersCountToPass(),
+                    ThreadLocalRandom.current().nextInt(Math.max(questions.size(), 1)));
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(selector, Spliterator.ORDERED), false);
+        }
+        if (questionsPerTest > 0) {
+            return questionDao.sample(questionsPerTest, ThreadLocalRandom.current().nextLong()).stream();
+        }
+        var position = new AtomicInteger();
+        return questionDao.streamAll().map(question -> new IndexedQuestion(position.getAndIncrement(), question));
+    }
+
+    void printQuestion(Question question) {
+        outputService.printFormattedLineLocalized("TestService.question.format", question.text());
+        var answers = question.answers();
+        for (int i = 0; i < answers.size(); i++) {
+            outputService.printFormattedLineLocalized("TestService.answer.format", i + 1, answers.get(i).text());
+        }
+    }
+
+    void registerAnswer(IndexedQuestion question, TestResult testResult, int answerIndex) {
+        boolean isCorrect = question.question().answers().get(answerIndex).isCorrect();
+        testResult.applyAnswer(question.index(), answerIndex, isCorrect);
+        bankAnalytics.registerAnswer(question.index(), answerIndex, isCorrect);
+    }
+}
@@ -0,0 +1,61 @@
+package ru.otus.hw.service;
+
+import ru.otus.hw.metrics.LatencyMetrics;
+
+/**
+ * Records how long writes take (rendering) and how long reads block (the student thinking,
+ * plus flushing the buffered question before the prompt).
+ */
+public class TimedIOService extends TimedOutputService implements IOService {
+
+    private final IOService ioService;
+
+    public TimedIOService(IOService ioService, LatencyMetrics latencyMetrics) {
+        super(ioService, latencyMetrics);
+        this.ioService = ioService;
+    }
+
+    public static IOService wrap(IOService ioService, LatencyMetrics latencyMetrics) {
+        return latencyMetrics.isEnabled() ? new TimedIOService(ioService, latencyMetrics) : ioService;
+    }
+
+    @Override
+    public String readString() {
+        long start = latencyMetrics.start();
+        try {
+            return ioService.readString();
+        } finally {
+            latencyMetrics.stop(LatencyMetrics.IO_READ, start);
+        }
+    }
+
+    @Override
+    public String readStringWithPrompt(String prompt) {
+        long start = latencyMetrics.start();
+        try {
+            return ioService.readStringWithPrompt(prompt);
+        } finally {
+            latencyMetrics.stop(LatencyMetrics.IO_READ, start);
+        }
+    }
+
+    @Override
+    public int readIntForRange(int min, int max, String errorMessage) {
+        long start = latencyMetrics.start();
+        try {
+            return ioService.readIntForRange(min, max, errorMessage);
+        } finally {
+            latencyMetrics.stop(LatencyMetrics.IO_READ, start);
+        }
+    }
+
+    @Override
+    public int readIntForRangeWithPrompt(int min, int max, String prompt, String errorMessage) {
+        long start = latencyMetrics.start();
+        try {
+            return ioService.readIntForRangeWithPrompt(min, max, prompt, errorMessage);
+        } finally {
+            latencyMetrics.stop(LatencyMetrics.IO_READ, start);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package ru.otus.hw.service;
+
+import lombok.RequiredArgsConstructor;
+import ru.otus.hw.metrics.LatencyMetrics;
+
+/**
+ * Records how long writes take (rendering and flushing).
+ */
+@RequiredArgsConstructor
+public class TimedOutputService implements OutputService {
+
+    private final OutputService outputService;
+
+    protected final LatencyMetrics latencyMetrics;
+
+    public static OutputService wrap(OutputService outputService, LatencyMetrics latencyMetrics) {
+        return latencyMetrics.isEnabled() ? new TimedOutputService(outputService, latencyMetrics) : outputService;
+    }
+
+    @Override
+    public void printLine(String s) {
+        long start = latencyMetrics.start();
+        outputService.printLine(s);
+        latencyMetrics.stop(LatencyMetrics.IO_WRITE, start);
+    }
+
+    @Override
+    public void printFormattedLine(String s, Object... args) {
+        long start = latencyMetrics.start();
+        outputService.printFormattedLine(s, args);
+        latencyMetrics.stop(LatencyMetrics.IO_WRITE, start);
+    }
+
+    @Override
+    public void flush() {
+        long start = latencyMetrics.start();
+        outputService.flush();
+        latencyMetrics.stop(LatencyMetrics.IO_WRITE, start);
+    }
+}
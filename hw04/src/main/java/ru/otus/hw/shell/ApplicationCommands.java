@@ -3,17 +3,70 @@ package ru.otus.hw.shell;
 import lombok.RequiredArgsConstructor;
 import org.springframework.shell.standard.ShellComponent;
 import org.springframework.shell.standard.ShellMethod;
+import ru.otus.hw.config.MessageCacheConfig;
+import ru.otus.hw.dao.CachingQuestionDao;
+import ru.otus.hw.domain.QuestionStats;
+import ru.otus.hw.service.LocalizedMessagesServiceImpl;
+import ru.otus.hw.service.QuestionAnalyticsService;
 import ru.otus.hw.service.TestRunnerService;
 
 @ShellComponent
 @RequiredArgsConstructor
 public class ApplicationCommands {
 
+    private static final int HISTOGRAM_WIDTH = 40;
+
     private final TestRunnerService testRunnerService;
 
+    private final CachingQuestionDao cachingQuestionDao;
+
+    private final LocalizedMessagesServiceImpl localizedMessagesService;
+
+    private final MessageCacheConfig messageCacheConfig;
+
+    private final QuestionAnalyticsService questionAnalyticsService;
+
     @ShellMethod(value = "Start the student testing session", key = {"test", "start", "s"})
     public String start() {
         testRunnerService.run();
         return "OK";
     }
+
+    @ShellMethod(value = "Drop cached questions so they are re-read on the next test", key = {"reload-questions", "rq"})
+    public String reloadQuestions() {
+        cachingQuestionDao.invalidateAll();
+        return "OK";
+    }
+
+    @ShellMethod(value = "Show localized message templates cache statistics", key = {"message-cache-stats", "mcs"})
+    public String messageCacheStats() {
+        var stats = localizedMessagesService.getCacheStats();
+        if (!messageCacheConfig.isMessageCacheStatsEnabled()) {
+            return "Templates: %d (hit/miss counting is off, set test.messageCacheStatsEnabled=true)"
+                    .formatted(stats.templatesCount());
+        }
+        return "Templates: %d, hits: %d, misses: %d".formatted(stats.templatesCount(), stats.hits(), stats.misses());
+    }
+
+    @ShellMethod(value = "Show answer statistics of the current question bank", key = {"question-stats", "qs"})
+    public String questionStats() {
+        var lines = new StringBuilder();
+        var stats = questionAnalyticsService.getStats();
+        for (int i = 0; i < stats.size(); i++) {
+            appendHistogram(lines, i + 1, stats.get(i));
+        }
+        return lines.toString().stripTrailing();
+    }
+
+    private static void appendHistogram(StringBuilder lines, int number, QuestionStats stats) {
+        lines.append("%d. %s%n   attempts: %d, right: %.1f%%%n".formatted(number, stats.question().text(),
+                stats.attempts(), stats.rightAnswersRate() * 100));
+        var answers = stats.question().answers();
+        for (int i = 0; i < answers.size(); i++) {
+            long chosen = stats.chosenAnswers()[i];
+            int barLength = stats.attempts() == 0 ? 0 : (int) (HISTOGRAM_WIDTH * chosen / stats.attempts());
+            lines.append("   %s %d. %s%s %d%n".formatted(answers.get(i).isCorrect() ? "+" : " ", i + 1,
+                    "#".repeat(barLength), " ".repeat(HISTOGRAM_WIDTH - barLength), chosen));
+        }
+    }
 }
@@ -0,0 +1,49 @@
+package ru.otus.hw.shell;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
+import ru.otus.hw.server.NioExamServer;
+import ru.otus.hw.server.SocketExamServer;
+
+import java.util.Locale;
+
+@ShellComponent
+@RequiredArgsConstructor
+public class ExamServerCommands {
+
+    private final SocketExamServer socketExamServer;
+
+    private final NioExamServer nioExamServer;
+
+    @ShellMethod(value = "Serve concurrent testing sessions over TCP, one session per connection",
+            key = {"serve", "exam-server-start"})
+    public String serve(@ShellOption(defaultValue = "7000") int port,
+                        @ShellOption(defaultValue = ShellOption.NULL) String locale) {
+        return "Exam server is listening on port " + socketExamServer.start(port, toLocale(locale));
+    }
+
+    @ShellMethod(value = "Stop accepting remote testing sessions", key = {"stop-serve", "exam-server-stop"})
+    public String stopServe() {
+        socketExamServer.stop();
+        return "OK";
+    }
+
+    @ShellMethod(value = "Serve testing sessions over TCP from a single non-blocking selector thread",
+            key = {"serve-nio", "nio-exam-server-start"})
+    public String serveNio(@ShellOption(defaultValue = "7100") int port,
+                           @ShellOption(defaultValue = ShellOption.NULL) String locale) {
+        return "NIO exam server is listening on port " + nioExamServer.start(port, toLocale(locale));
+    }
+
+    @ShellMethod(value = "Stop the non-blocking exam server", key = {"stop-serve-nio", "nio-exam-server-stop"})
+    public String stopServeNio() {
+        nioExamServer.stop();
+        return "OK";
+    }
+
+    private static Locale toLocale(String languageTag) {
+        return languageTag == null ? null : Locale.forLanguageTag(languageTag);
+    }
+}
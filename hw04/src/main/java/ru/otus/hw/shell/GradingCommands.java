@@ -0,0 +1,27 @@
+package ru.otus.hw.shell;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
+import ru.otus.hw.service.BatchGradingService;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+@ShellComponent
+@RequiredArgsConstructor
+public class GradingCommands {
+
+    private final BatchGradingService batchGradingService;
+
+    @ShellMethod(value = "Grade answer sheet rows 'student;questionNumber;answerNumber' against the question bank",
+            key = {"grade-sheets", "gs"})
+    public String gradeSheets(@ShellOption String input, @ShellOption String output) {
+        long start = System.nanoTime();
+        var report = batchGradingService.gradeFile(Path.of(input), Path.of(output));
+        return "Graded %d rows (%d skipped) for %d students, %d passed, in %d ms".formatted(
+                report.rowsCount(), report.skippedRowsCount(), report.studentsCount(), report.passedCount(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+}
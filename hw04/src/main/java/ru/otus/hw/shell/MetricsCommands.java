@@ -0,0 +1,43 @@
+package ru.otus.hw.shell;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
+import ru.otus.hw.metrics.LatencyMetrics;
+
+import java.util.concurrent.TimeUnit;
+
+@ShellComponent
+@RequiredArgsConstructor
+public class MetricsCommands {
+
+    private final LatencyMetrics latencyMetrics;
+
+    @ShellMethod(value = "Show latency percentiles of question loading, messages, output, input and results",
+            key = {"latency-stats", "ls"})
+    public String latencyStats(@ShellOption(defaultValue = "false") boolean reset) {
+        if (!latencyMetrics.isEnabled()) {
+            return "Latency metrics are disabled (test.latencyMetricsEnabled)";
+        }
+        var snapshots = latencyMetrics.snapshot();
+        if (reset) {
+            latencyMetrics.reset();
+        }
+        if (snapshots.isEmpty()) {
+            return "Nothing measured yet";
+        }
+        var table = new StringBuilder("%-20s %10s %10s %10s %10s %10s %10s%n".formatted(
+                "operation", "count", "mean, us", "p50, us", "p90, us", "p99, us", "max, us"));
+        for (var snapshot : snapshots) {
+            table.append("%-20s %10d %10d %10d %10d %10d %10d%n".formatted(snapshot.operation(), snapshot.count(),
+                    micros(snapshot.meanNanos()), micros(snapshot.p50Nanos()), micros(snapshot.p90Nanos()),
+                    micros(snapshot.p99Nanos()), micros(snapshot.maxNanos())));
+        }
+        return table.toString().stripTrailing();
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+}
@@ -0,0 +1,42 @@
+package ru.otus.hw.shell;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
+import ru.otus.hw.config.TestConfig;
+import ru.otus.hw.dao.TestResultDao;
+
+@ShellComponent
+@RequiredArgsConstructor
+public class ResultCommands {
+
+    private final TestResultDao testResultDao;
+
+    private final TestConfig testConfig;
+
+    @ShellMethod(value = "Show the pass rate of stored sessions, of all students or of one", key = {"pass-rate", "pr"})
+    public String passRate(@ShellOption(defaultValue = ShellOption.NULL) String student) {
+        var passRate = testResultDao.getPassRate(student, testConfig.getRightAnswersCountToPass());
+        return "Passed %d of %d sessions (%.1f%%)".formatted(passRate.passedCount(), passRate.sessionsCount(),
+                passRate.rate() * 100);
+    }
+
+    @ShellMethod(value = "Show stored sessions of a student", key = {"student-results", "sr"})
+    public String studentResults(@ShellOption String student) {
+        var lines = new StringBuilder();
+        for (var sessionRecord : testResultDao.findByStudent(student)) {
+            var testResult = sessionRecord.testResult();
+            lines.append("%tF %<tT %s: %d of %d%n".formatted(sessionRecord.timestamp(),
+                    sessionRecord.locale().toLanguageTag(), testResult.getRightAnswersCount(),
+                    testResult.getAnsweredQuestionsCount()));
+        }
+        return lines.isEmpty() ? "No sessions of " + student : lines.toString().stripTrailing();
+    }
+
+    @ShellMethod(value = "Drop old sessions from the result log right away", key = {"compact-results", "cr"})
+    public String compactResults() {
+        testResultDao.compact();
+        return "OK";
+    }
+}
@@ -0,0 +1,36 @@
+package ru.otus.hw.shell;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
+import ru.otus.hw.service.ScriptedRunService;
+
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+@ShellComponent
+@RequiredArgsConstructor
+public class ScriptedRunCommands {
+
+    private final ScriptedRunService scriptedRunService;
+
+    @ShellMethod(value = "Run scripted students 'firstName;lastName;answers' headless on a thread pool",
+            key = {"run-script", "rs"})
+    public String runScript(@ShellOption String input,
+                            @ShellOption(defaultValue = "4") int threads,
+                            @ShellOption(defaultValue = ShellOption.NULL) String locale) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Threads count must be positive: " + threads);
+        }
+        var report = scriptedRunService.run(Path.of(input), threads,
+                locale == null ? null : Locale.forLanguageTag(locale));
+        return ("%d sessions (%d failed, %d passed) in %d ms, %.1f sessions/s%n"
+                + "latency p50 %d us, p90 %d us, p99 %d us, max %d us").formatted(
+                report.sessionsCount(), report.failedCount(), report.passedCount(),
+                TimeUnit.NANOSECONDS.toMillis(report.elapsedNanos()), report.sessionsPerSecond(),
+                TimeUnit.NANOSECONDS.toMicros(report.p50Nanos()), TimeUnit.NANOSECONDS.toMicros(report.p90Nanos()),
+                TimeUnit.NANOSECONDS.toMicros(report.p99Nanos()), TimeUnit.NANOSECONDS.toMicros(report.maxNanos()));
+    }
+}
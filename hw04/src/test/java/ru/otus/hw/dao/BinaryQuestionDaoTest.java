@@ -0,0 +1,68 @@
+package ru.otus.hw.dao;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import ru.otus.hw.config.TestFileNameProvider;
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.exceptions.QuestionReadException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(classes = BinaryQuestionDao.class, properties = "test.question-source=binary")
+class BinaryQuestionDaoTest {
+
+    private static final String EXISTING_FILE = "questions-test.csv";
+
+    @MockitoBean
+    private TestFileNameProvider fileNameProvider;
+
+    @Autowired
+    private BinaryQuestionDao dao;
+
+    @Test
+    void shouldReadBankCompiledDuringBuild() {
+        when(fileNameProvider.getTestFileName()).thenReturn(EXISTING_FILE);
+
+        assertThat(dao.findAll())
+                .hasSize(3)
+                .isEqualTo(new CsvQuestionDao(fileNameProvider).findAll());
+    }
+
+    @Test
+    void shouldKeepAnswerFlagsOfLongAnswerLists() throws IOException {
+        var answers = IntStream.range(0, 11)
+                .mapToObj(i -> new Answer("Ответ " + i, i % 3 == 0))
+                .toList();
+        var questions = List.of(new Question("Вопрос?", answers), new Question("Empty?", List.of()));
+        var out = new ByteArrayOutputStream();
+
+        QuestionBankCodec.write(questions, out);
+
+        assertThat(QuestionBankCodec.read(out.toByteArray())).containsExactlyElementsOf(questions);
+    }
+
+    @Test
+    void shouldThrowExceptionOnForeignData() {
+        assertThatThrownBy(() -> QuestionBankCodec.read("not a bank".getBytes()))
+                .isInstanceOf(QuestionReadException.class);
+    }
+
+    @Test
+    void shouldThrowExceptionWhenFileNotFound() {
+        when(fileNameProvider.getTestFileName()).thenReturn("no-such-file.csv");
+
+        assertThatThrownBy(dao::findAll)
+                .isInstanceOf(QuestionReadException.class)
+                .hasMessageContaining("no-such-file.qbank");
+    }
+}
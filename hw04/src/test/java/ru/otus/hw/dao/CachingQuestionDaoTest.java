@@ -0,0 +1,200 @@
+package ru.otus.hw.dao;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import ru.otus.hw.config.QuestionCacheConfig;
+import ru.otus.hw.config.TestFileNameProvider;
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.IndexedQuestion;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.exceptions.QuestionReadException;
+import ru.otus.hw.metrics.LatencyMetrics;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(classes = CachingQuestionDao.class)
+class CachingQuestionDaoTest {
+
+    private static final List<Question> QUESTIONS = List.of(
+            new Question("Q?", List.of(new Answer("Yes", true), new Answer("No", false))));
+
+    @MockitoBean
+    @Qualifier(CachingQuestionDao.QUESTION_SOURCE)
+    private QuestionDao delegate;
+
+    @MockitoBean
+    private TestFileNameProvider fileNameProvider;
+
+    @MockitoBean
+    private QuestionCacheConfig cacheConfig;
+
+    @MockitoBean
+    private LatencyMetrics latencyMetrics;
+
+    @Autowired
+    private CachingQuestionDao dao;
+
+    @BeforeEach
+    void setUp() {
+        dao.invalidateAll();
+        when(cacheConfig.getQuestionCacheMaxSize()).thenReturn(2);
+        when(delegate.findAll(any())).thenReturn(QUESTIONS);
+    }
+
+    @Test
+    void shouldReadQuestionsOnlyOncePerFile() {
+        when(fileNameProvider.getTestFileName()).thenReturn("questions.csv");
+
+        assertThat(dao.findAll()).isEqualTo(QUESTIONS);
+        assertThat(dao.streamAll()).containsExactlyElementsOf(QUESTIONS);
+
+        verify(delegate, times(1)).findAll(any());
+    }
+
+    @Test
+    void shouldReadQuestionsAgainAfterInvalidation() {
+        when(fileNameProvider.getTestFileName()).thenReturn("questions.csv");
+
+        dao.findAll();
+        dao.invalidate("questions.csv");
+        dao.findAll();
+
+        verify(delegate, times(2)).findAll(any());
+        verify(delegate).invalidate("questions.csv");
+    }
+
+    @Test
+    void shouldNotCacheBankReadBeforeInvalidation() {
+        when(delegate.findAll("questions.csv")).thenAnswer(invocation -> {
+            dao.invalidate("questions.csv");
+            return QUESTIONS;
+        }).thenReturn(QUESTIONS);
+
+        dao.findAll("questions.csv");
+        dao.findAll("questions.csv");
+        dao.findAll("questions.csv");
+
+        verify(delegate, times(2)).findAll("questions.csv");
+    }
+
+    @Test
+    void shouldNotPreloadBankReadBeforeInvalidation() {
+        when(cacheConfig.getQuestionCacheMaxSize()).thenReturn(0);
+        when(delegate.findAll("1.csv")).thenAnswer(invocation -> {
+            dao.invalidateAll();
+            return QUESTIONS;
+        });
+
+        dao.preload(List.of("1.csv"));
+        dao.findAll("1.csv");
+
+        verify(delegate, times(2)).findAll("1.csv");
+    }
+
+    @Test
+    void shouldStreamFromDelegateWhenCacheDisabled() {
+        when(cacheConfig.getQuestionCacheMaxSize()).thenReturn(0);
+        when(delegate.streamAll(any())).thenReturn(QUESTIONS.stream());
+
+        assertThat(dao.streamAll()).containsExactlyElementsOf(QUESTIONS);
+
+        verify(delegate, never()).findAll(any());
+    }
+
+    @Test
+    void shouldTimeStreamingFromDelegate() {
+        when(cacheConfig.getQuestionCacheMaxSize()).thenReturn(0);
+        when(latencyMetrics.isEnabled()).thenReturn(true);
+        when(delegate.streamAll(any())).thenReturn(QUESTIONS.stream());
+
+        try (var questions = dao.streamAll("questions.csv")) {
+            assertThat(questions).containsExactlyElementsOf(QUESTIONS);
+        }
+
+        verify(latencyMetrics).stop(eq(LatencyMetrics.QUESTIONS_STREAM_OPEN), anyLong());
+        verify(latencyMetrics, times(QUESTIONS.size() + 1)).stop(eq(LatencyMetrics.QUESTIONS_STREAM_NEXT), anyLong());
+    }
+
+    @Test
+    void shouldTimeSamplingInDelegate() {
+        when(delegate.isSamplingNative()).thenReturn(true);
+        when(delegate.sample("questions.csv", 1, 42L)).thenReturn(List.of(new IndexedQuestion(0, QUESTIONS.get(0))));
+
+        dao.sample("questions.csv", 1, 42L);
+
+        verify(latencyMetrics).stop(eq(LatencyMetrics.QUESTIONS_SAMPLE), anyLong());
+    }
+
+    @Test
+    void shouldSampleInDelegateWhenItSamplesNatively() {
+        when(delegate.isSamplingNative()).thenReturn(true);
+        var sampled = List.of(new IndexedQuestion(0, QUESTIONS.get(0)));
+        when(delegate.sample("questions.csv", 1, 42L)).thenReturn(sampled);
+
+        assertThat(dao.sample("questions.csv", 1, 42L)).isEqualTo(sampled);
+
+        verify(delegate, never()).findAll(any());
+    }
+
+    @Test
+    void shouldSampleCachedBankInMemory() {
+        when(delegate.isSamplingNative()).thenReturn(true);
+
+        dao.findAll("questions.csv");
+        assertThat(dao.sample("questions.csv", 1, 42L))
+                .singleElement()
+                .satisfies(sampled -> assertThat(QUESTIONS.get(sampled.index())).isEqualTo(sampled.question()));
+
+        verify(delegate, never()).sample(any(), anyInt(), anyLong());
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedFileWhenFull() {
+        when(fileNameProvider.getTestFileName()).thenReturn("1.csv", "2.csv", "3.csv", "1.csv");
+
+        dao.findAll();
+        dao.findAll();
+        dao.findAll();
+        dao.findAll();
+
+        verify(delegate, times(4)).findAll(any());
+    }
+
+    @Test
+    void shouldServePreloadedBanksWithoutReadingAgain() {
+        when(cacheConfig.getQuestionCacheMaxSize()).thenReturn(0);
+
+        dao.preload(List.of("1.csv", "2.csv"));
+
+        assertThat(dao.findAll("1.csv")).isEqualTo(QUESTIONS);
+        assertThat(dao.findAll("2.csv")).isEqualTo(QUESTIONS);
+        assertThat(dao.streamAll("2.csv")).containsExactlyElementsOf(QUESTIONS);
+        verify(delegate, times(1)).findAll("1.csv");
+        verify(delegate, times(1)).findAll("2.csv");
+    }
+
+    @Test
+    void shouldReadBankLazilyWhenPreloadFailed() {
+        when(delegate.findAll("broken.csv")).thenThrow(new QuestionReadException("broken"));
+
+        dao.preload(List.of("1.csv", "broken.csv"));
+
+        assertThat(dao.findAll("1.csv")).isEqualTo(QUESTIONS);
+        assertThatThrownBy(() -> dao.findAll("broken.csv")).isInstanceOf(QuestionReadException.class);
+    }
+}
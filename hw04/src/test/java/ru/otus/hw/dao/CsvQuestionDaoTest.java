@@ -10,6 +10,7 @@ import ru.otus.hw.domain.Question;
 import ru.otus.hw.exceptions.QuestionReadException;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -23,6 +24,7 @@ public class CsvQuestionDaoTest {
 
     private static final String EXISTING_FILE = "questions-test.csv";
     private static final String NON_EXISTENT_FILE = "no-such-file.csv";
+    private static final String BROKEN_FILE = "broken/questions.csv";
 
     @MockitoBean
     private TestFileNameProvider fileNameProvider;
@@ -44,6 +46,19 @@ public class CsvQuestionDaoTest {
                 .allMatch(q -> q.answers() != null && !q.answers().isEmpty());
     }
 
+    @Test
+    void shouldStreamQuestionsInFileOrder() {
+        when(fileNameProvider.getTestFileName()).thenReturn(EXISTING_FILE);
+
+        try (Stream<Question> questions = dao.streamAll()) {
+            assertThat(questions.map(Question::text))
+                    .containsExactly(
+                            "What is the capital of France?",
+                            "How many planets are in the Solar System?",
+                            "Which language is this project written in?");
+        }
+    }
+
     @Test
     void shouldThrowExceptionWhenFileNotFound() {
         when(fileNameProvider.getTestFileName()).thenReturn(NON_EXISTENT_FILE);
@@ -53,4 +68,13 @@ public class CsvQuestionDaoTest {
                 .hasMessageContaining("File not found")
                 .hasMessageContaining(NON_EXISTENT_FILE);
     }
+
+    @Test
+    void shouldThrowExceptionOnBrokenLineWhileStreaming() {
+        try (Stream<Question> questions = dao.streamAll(BROKEN_FILE)) {
+            assertThatThrownBy(questions::toList)
+                    .isInstanceOf(QuestionReadException.class)
+                    .hasMessageContaining(BROKEN_FILE);
+        }
+    }
 }
@@ -0,0 +1,158 @@
+package ru.otus.hw.dao;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.otus.hw.config.ResultLogConfig;
+import ru.otus.hw.dao.TestResultDao.PassRate;
+import ru.otus.hw.domain.SessionRecord;
+import ru.otus.hw.domain.Student;
+import ru.otus.hw.domain.TestResult;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogTestResultDaoTest {
+
+    @TempDir
+    private Path dir;
+
+    private final List<LogTestResultDao> opened = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (var dao : opened) {
+            dao.close();
+        }
+    }
+
+    @Test
+    void shouldKeepSessionsAcrossRestarts() {
+        var dao = open(0);
+        var saved = IntStream.range(0, 500)
+                .mapToObj(i -> dao.save(session("Student " + i % 10, i, i % 4)))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(saved).join();
+
+        var reopened = open(0);
+
+        assertThat(reopened.getPassRate(null, 2)).isEqualTo(new PassRate(500, 250));
+        assertThat(reopened.getPassRate("Student 3", 2)).isEqualTo(new PassRate(50, 25));
+        assertThat(reopened.getPassRate("Nobody", 2)).isEqualTo(new PassRate(0, 0));
+        var sessions = reopened.findByStudent("Student 3");
+        assertThat(sessions).hasSize(50);
+        assertThat(sessions.get(1).timestamp()).isEqualTo(13);
+        assertThat(sessions.get(1).locale()).isEqualTo(Locale.forLanguageTag("ru-RU"));
+        assertThat(sessions.get(1).testResult()).isEqualTo(testResult("Student 3", 1));
+    }
+
+    @Test
+    void shouldCutOffBrokenTail() throws IOException {
+        var dao = open(0);
+        dao.save(session("Ivan Petrov", 1, 3)).join();
+        dao.save(session("Ivan Petrov", 2, 0)).join();
+        Files.write(file(), new byte[]{0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        var reopened = open(0);
+        reopened.save(session("Ivan Petrov", 3, 3)).join();
+
+        assertThat(open(0).findByStudent("Ivan Petrov"))
+                .extracting(SessionRecord::timestamp)
+                .containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void shouldKeepOnlyLatestSessionsAfterCompaction() {
+        var dao = open(2);
+        for (int i = 0; i < 5; i++) {
+            dao.save(session("Ivan Petrov", i, i % 4)).join();
+            dao.save(session("John Doe", 100 + i, 3)).join();
+        }
+        dao.save(session("Jane Roe", 200, 3)).join();
+
+        dao.compact();
+        dao.save(session("Ivan Petrov", 5, 3)).join();
+
+        assertThat(dao.findByStudent("Ivan Petrov"))
+                .extracting(SessionRecord::timestamp)
+                .containsExactly(3L, 4L, 5L);
+        assertThat(dao.getPassRate(null, 2)).isEqualTo(new PassRate(6, 5));
+        assertThat(open(2).findByStudent("John Doe"))
+                .extracting(SessionRecord::timestamp)
+                .containsExactly(103L, 104L);
+    }
+
+    @Test
+    void shouldWriteQueuedSessionsBeforeClosing() throws Exception {
+        var dao = open(0);
+        var saved = IntStream.range(0, 1000)
+                .mapToObj(i -> dao.save(session("Ivan Petrov", i, 3)))
+                .toList();
+
+        dao.close();
+
+        assertThat(saved).allMatch(future -> future.isDone() && !future.isCompletedExceptionally());
+        assertThat(dao.save(session("Ivan Petrov", 1000, 3))).isCompletedExceptionally();
+        assertThat(open(0).getPassRate("Ivan Petrov", 2)).isEqualTo(new PassRate(1000, 1000));
+    }
+
+    @Test
+    void shouldRejectOversizedSessionAndKeepNextOnes() {
+        var dao = open(0);
+        var oversized = dao.save(session("Ivan " + "Petrov".repeat(200_000), 1, 3));
+        dao.save(session("Ivan Petrov", 2, 3)).join();
+
+        assertThat(oversized).isCompletedExceptionally();
+        assertThat(open(0).findByStudent("Ivan Petrov"))
+                .extracting(SessionRecord::timestamp)
+                .containsExactly(2L);
+    }
+
+    private LogTestResultDao open(int maxSessionsPerStudent) {
+        var dao = new LogTestResultDao(new ResultLogConfig() {
+            @Override
+            public String getResultLogFile() {
+                return file().toString();
+            }
+
+            @Override
+            public int getResultLogMaxSessionsPerStudent() {
+                return maxSessionsPerStudent;
+            }
+
+            @Override
+            public int getResultLogCompactionIntervalSeconds() {
+                return 0;
+            }
+        });
+        dao.open();
+        opened.add(dao);
+        return dao;
+    }
+
+    private Path file() {
+        return dir.resolve("results.log");
+    }
+
+    private static SessionRecord session(String student, long timestamp, int rightAnswersCount) {
+        return new SessionRecord(timestamp, Locale.forLanguageTag("ru-RU"), testResult(student, rightAnswersCount));
+    }
+
+    private static TestResult testResult(String student, int rightAnswersCount) {
+        var names = student.split(" ");
+        var testResult = new TestResult(new Student(names[0], names[1]));
+        for (int i = 0; i < 3; i++) {
+            testResult.applyAnswer(i, 0, i < rightAnswersCount);
+        }
+        return testResult;
+    }
+}
@@ -0,0 +1,95 @@
+package ru.otus.hw.dao;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import ru.otus.hw.config.QuestionsDirectoryProvider;
+import ru.otus.hw.config.TestFileNameProvider;
+import ru.otus.hw.domain.IndexedQuestion;
+import ru.otus.hw.exceptions.QuestionReadException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(classes = {MappedQuestionDao.class, QuestionFileResolver.class},
+        properties = "test.question-source=mapped")
+class MappedQuestionDaoTest {
+
+    private static final String EXISTING_FILE = "questions-test.csv";
+
+    @MockitoBean
+    private TestFileNameProvider fileNameProvider;
+
+    @MockitoBean
+    private QuestionsDirectoryProvider directoryProvider;
+
+    @Autowired
+    private MappedQuestionDao dao;
+
+    @BeforeEach
+    void setUp() {
+        when(fileNameProvider.getTestFileName()).thenReturn(EXISTING_FILE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dao.invalidateAll();
+    }
+
+    @Test
+    void shouldReadSameQuestionsAsOpenCsv() {
+        assertThat(dao.count()).isEqualTo(3);
+        assertThat(dao.findAll()).isEqualTo(new CsvQuestionDao(fileNameProvider).findAll());
+    }
+
+    @Test
+    void shouldDecodeQuestionByIndex() {
+        assertThat(dao.findByIndex(1).text()).isEqualTo("How many planets are in the Solar System?");
+        assertThatThrownBy(() -> dao.findByIndex(3)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void shouldSampleDistinctQuestionsReproducibly() {
+        List<IndexedQuestion> sample = dao.sample(2, 42L);
+
+        assertThat(sample)
+                .hasSize(2)
+                .doesNotHaveDuplicates()
+                .isEqualTo(dao.sample(2, 42L))
+                .allSatisfy(question -> assertThat(dao.findByIndex(question.index())).isEqualTo(question.question()));
+        assertThat(dao.sample(10, 1L)).hasSize(3);
+    }
+
+    @Test
+    void shouldMapChangedFileAgainAfterInvalidation(@TempDir Path dir) throws IOException {
+        when(directoryProvider.getQuestionsDirectory()).thenReturn(dir.toString());
+        var file = dir.resolve(EXISTING_FILE);
+        Files.writeString(file, "# header\nQ1?;Yes%true|No%false\n");
+        assertThat(dao.count()).isEqualTo(1);
+
+        Files.writeString(file, "# header\nQ1?;Yes%true|No%false\nQ2?;Yes%false|No%true\n");
+        dao.invalidateAll();
+
+        assertThat(dao.count()).isEqualTo(2);
+        assertThat(dao.findByIndex(1).text()).isEqualTo("Q2?");
+    }
+
+    @Test
+    void shouldThrowExceptionWhenFileNotFound() {
+        when(fileNameProvider.getTestFileName()).thenReturn("no-such-file.csv");
+
+        assertThatThrownBy(dao::findAll)
+                .isInstanceOf(QuestionReadException.class)
+                .hasMessageContaining("File not found");
+    }
+}
@@ -0,0 +1,80 @@
+package ru.otus.hw.dao;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import ru.otus.hw.config.TestFileNameProvider;
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.exceptions.QuestionReadException;
+
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(classes = PlainCsvQuestionDao.class, properties = "test.question-source=plain")
+class PlainCsvQuestionDaoTest {
+
+    private static final String EXISTING_FILE = "questions-test.csv";
+
+    @MockitoBean
+    private TestFileNameProvider fileNameProvider;
+
+    @Autowired
+    private PlainCsvQuestionDao dao;
+
+    @Test
+    void shouldReadSameQuestionsAsOpenCsv() {
+        when(fileNameProvider.getTestFileName()).thenReturn(EXISTING_FILE);
+
+        assertThat(dao.findAll())
+                .hasSize(3)
+                .isEqualTo(new CsvQuestionDao(fileNameProvider).findAll());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"questions.csv", "questions_ru.csv", "questions-quoted.csv"})
+    void shouldReadBanksLikeOpenCsv(String fileName) {
+        assertThat(dao.findAll(fileName)).isEqualTo(new CsvQuestionDao(fileNameProvider).findAll(fileName));
+    }
+
+    @Test
+    void shouldKeepLeadingWhiteSpaceAndUnquoteColumns() {
+        when(fileNameProvider.getTestFileName()).thenReturn("questions-quoted.csv");
+
+        List<Question> questions = dao.findAll();
+
+        assertThat(questions).extracting(Question::text).containsExactly(
+                "  Leading spaces?", "\tQuoted answer?", "  Quoted text?", "Separator; and \"quotes\" inside?",
+                "Escaped \"quote\" and ; separator?", "Two\nlines?");
+        assertThat(questions.get(0).answers()).containsExactly(new Answer("  Yes", true), new Answer(" No", false));
+        assertThat(questions.get(1).answers()).containsExactly(new Answer("Yes\"", true), new Answer("No", false));
+        assertThat(questions.get(2).answers()).containsExactly(new Answer("Yes", true), new Answer("No", false));
+    }
+
+    @Test
+    void shouldParseAnswersAndSkipBlankLines() {
+        var csv = "# header\r\nQ1?;Yes%true|No%FALSE\r\n\r\nQ2 100%|sure?;A%false|B%True";
+
+        List<Question> questions = dao.read(new StringReader(csv)).toList();
+
+        assertThat(questions).containsExactly(
+                new Question("Q1?", List.of(new Answer("Yes", true), new Answer("No", false))),
+                new Question("Q2 100%|sure?", List.of(new Answer("A", false), new Answer("B", true))));
+    }
+
+    @Test
+    void shouldThrowExceptionOnAnswerWithoutFlag() {
+        var csv = "# header\nQ1?;Yes%true\nQ2?;Yes|No%false\n";
+
+        assertThatThrownBy(() -> dao.read(new StringReader(csv)).toList())
+                .isInstanceOf(QuestionReadException.class)
+                .hasMessageContaining("line 3");
+    }
+}
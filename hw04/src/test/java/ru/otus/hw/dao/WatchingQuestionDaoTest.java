@@ -0,0 +1,70 @@
+package ru.otus.hw.dao;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.otus.hw.domain.Question;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WatchingQuestionDaoTest {
+
+    private static final String FILE_NAME = "questions.csv";
+
+    private static final long RELOAD_TIMEOUT_MILLIS = 10_000;
+
+    @TempDir
+    private Path directory;
+
+    private final List<Object> events = new CopyOnWriteArrayList<>();
+
+    private WatchingQuestionDao dao;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        writeQuestions("Q1?;Yes%true|No%false");
+        dao = new WatchingQuestionDao(() -> FILE_NAME, () -> directory.toString(),
+                new QuestionFileResolver(() -> directory.toString()), events::add);
+        dao.startWatching();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        dao.stopWatching();
+    }
+
+    @Test
+    void shouldSwapSnapshotWhenBankChanges() throws Exception {
+        List<Question> before = dao.findAll();
+        assertThat(before).hasSize(1);
+
+        writeQuestions("Q1?;Yes%true|No%false", "Q2?;Yes%false|No%true");
+
+        long deadline = System.currentTimeMillis() + RELOAD_TIMEOUT_MILLIS;
+        while (dao.findAll().size() != 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(dao.findAll()).hasSize(2);
+        assertThat(before).hasSize(1);
+        assertThat(events).contains(new QuestionBankChangedEvent(FILE_NAME));
+    }
+
+    @Test
+    void shouldKeepSnapshotWhenBankIsUnchanged() {
+        assertThat(dao.findAll()).isSameAs(dao.findAll());
+        assertThat(dao.streamAll()).containsExactlyElementsOf(dao.findAll());
+    }
+
+    private void writeQuestions(String... lines) throws IOException {
+        var content = "question;answers\n" + String.join("\n", lines) + "\n";
+        Files.writeString(directory.resolve(FILE_NAME), content, StandardCharsets.UTF_8);
+    }
+}
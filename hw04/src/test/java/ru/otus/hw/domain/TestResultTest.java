@@ -0,0 +1,71 @@
+package ru.otus.hw.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TestResultTest {
+
+    private final Student student = new Student("John", "Doe");
+
+    @Test
+    void shouldKeepAnswersInOrderBeyondInitialCapacity() {
+        var testResult = new TestResult(student);
+        for (int i = 0; i < 100; i++) {
+            testResult.applyAnswer(99 - i, i % 4, i % 3 == 0);
+        }
+
+        assertThat(testResult.getAnsweredQuestionsCount()).isEqualTo(100);
+        assertThat(testResult.getRightAnswersCount()).isEqualTo(34);
+        assertThat(testResult.isRightAnswer(99)).isTrue();
+        assertThat(testResult.isRightAnswer(98)).isFalse();
+        assertThat(testResult.getChosenAnswerIndex(98)).isEqualTo(2);
+        assertThat(testResult.getBankQuestionIndex(98)).isEqualTo(1);
+        assertThatThrownBy(() -> testResult.isRightAnswer(100)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void shouldWriteAndReadRecordWithStudentAndQuestionIndexes() {
+        var testResult = new TestResult(new Student("Иван", "Petrov"));
+        for (int i = 0; i < 70; i++) {
+            testResult.applyAnswer(i * 1000, i % 200 + 55, i % 2 == 0);
+        }
+
+        var buffer = ByteBuffer.allocate(testResult.getRecordSize());
+        testResult.writeTo(buffer);
+        assertThat(buffer.hasRemaining()).isFalse();
+
+        var restored = TestResult.readFrom(buffer.flip());
+        assertThat(restored).isEqualTo(testResult);
+        assertThat(restored.getStudent()).isEqualTo(new Student("Иван", "Petrov"));
+        assertThat(restored.getRightAnswersCount()).isEqualTo(35);
+        assertThat(restored.getChosenAnswerIndex(69)).isEqualTo(124);
+        assertThat(restored.getBankQuestionIndex(69)).isEqualTo(69_000);
+        assertThat(testResult.getRecordSize()).isEqualTo(4 + 8 + 4 + 6 + 4 + 2 * 8 + 70 * 5);
+    }
+
+    @Test
+    void shouldReadEmptyRecord() {
+        var buffer = ByteBuffer.allocate(new TestResult(student).getRecordSize());
+        new TestResult(student).writeTo(buffer);
+
+        var restored = TestResult.readFrom(buffer.flip());
+        assertThat(restored.getAnsweredQuestionsCount()).isZero();
+        restored.applyAnswer(0, 1, true);
+        assertThat(restored.getRightAnswersCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectRecordWithAnswersCountBeyondBuffer() {
+        var buffer = ByteBuffer.allocate(new TestResult(student).getRecordSize());
+        new TestResult(student).writeTo(buffer);
+        // 5 bytes per answer plus the correctness bits wrap around int for this count
+        buffer.putInt(buffer.position() - Integer.BYTES, 600_000_000);
+
+        assertThatThrownBy(() -> TestResult.readFrom(buffer.flip()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,46 @@
+package ru.otus.hw.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyHistogramTest {
+
+    @Test
+    void shouldPutEveryValueIntoBucketCoveringIt() {
+        for (long value : new long[]{0, 1, 15, 16, 17, 31, 32, 1000, 123_456_789, Long.MAX_VALUE}) {
+            int index = LatencyHistogram.bucketIndex(value);
+            assertThat(LatencyHistogram.bucketLowerBound(index)).isLessThanOrEqualTo(value);
+            if (value < Long.MAX_VALUE) {
+                assertThat(LatencyHistogram.bucketLowerBound(index + 1)).isGreaterThan(value);
+            }
+        }
+    }
+
+    @Test
+    void shouldReportPercentilesWithinBucketPrecision() {
+        var histogram = new LatencyHistogram();
+        IntStream.rangeClosed(1, 10_000).forEach(i -> histogram.record(i * 1_000L));
+
+        var snapshot = histogram.snapshot("op");
+
+        assertThat(snapshot.count()).isEqualTo(10_000);
+        assertThat(snapshot.meanNanos()).isEqualTo(5_000_500);
+        assertThat((double) snapshot.p50Nanos()).isCloseTo(5_000_000, within(5_000_000 / 16.0));
+        assertThat((double) snapshot.p90Nanos()).isCloseTo(9_000_000, within(9_000_000 / 16.0));
+        assertThat((double) snapshot.p99Nanos()).isCloseTo(9_900_000, within(9_900_000 / 16.0));
+        assertThat(snapshot.maxNanos()).isEqualTo(10_000_000);
+    }
+
+    @Test
+    void shouldStartOverAfterReset() {
+        var histogram = new LatencyHistogram();
+        histogram.record(42);
+        histogram.reset();
+
+        assertThat(histogram.snapshot("op")).isEqualTo(new LatencyHistogram.LatencySnapshot("op", 0, 0, 0, 0, 0, 0));
+    }
+}
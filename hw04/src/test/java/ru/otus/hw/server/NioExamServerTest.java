@@ -0,0 +1,170 @@
+package ru.otus.hw.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import ru.otus.hw.config.LocaleConfig;
+import ru.otus.hw.config.SessionConfig;
+import ru.otus.hw.config.TestConfig;
+import ru.otus.hw.config.TestFileNameProvider;
+import ru.otus.hw.dao.QuestionBankChangedEvent;
+import ru.otus.hw.dao.QuestionDao;
+import ru.otus.hw.dao.TestResultDao;
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.metrics.LatencyMetrics;
+import ru.otus.hw.service.BankAnalytics;
+import ru.otus.hw.service.LocalizedMessagesService;
+import ru.otus.hw.service.QuestionAnalyticsService;
+import ru.otus.hw.service.SessionEngineImpl;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(classes = {NioExamServer.class, SessionEngineImpl.class})
+class NioExamServerTest {
+
+    private static final List<Question> QUESTIONS = List.of(
+            new Question("Q1?", List.of(new Answer("Yes", true), new Answer("No", false))),
+            new Question("Q2?", List.of(new Answer("Yes", false), new Answer("No", true))));
+
+    @MockitoBean
+    private LocalizedMessagesService messagesService;
+
+    @MockitoBean
+    private QuestionDao questionDao;
+
+    @MockitoBean
+    private TestConfig testConfig;
+
+    @MockitoBean
+    private QuestionAnalyticsService questionAnalyticsService;
+
+    @MockitoBean
+    private TestResultDao testResultDao;
+
+    @MockitoBean
+    private LocaleConfig localeConfig;
+
+    @MockitoBean
+    private TestFileNameProvider fileNameProvider;
+
+    @MockitoBean
+    private LatencyMetrics latencyMetrics;
+
+    @MockitoBean
+    private SessionConfig sessionConfig;
+
+    @Autowired
+    private NioExamServer server;
+
+    private final BankAnalytics bankAnalytics = mock(BankAnalytics.class);
+
+    private int port;
+
+    @BeforeEach
+    void setUp() {
+        when(localeConfig.getLocale()).thenReturn(Locale.ENGLISH);
+        when(fileNameProvider.getTestFileName(Locale.ENGLISH)).thenReturn("questions.csv");
+        when(questionDao.findAll("questions.csv")).thenReturn(QUESTIONS);
+        when(questionAnalyticsService.getBank(anyString(), any())).thenReturn(bankAnalytics);
+        when(testConfig.getRightAnswersCountToPass()).thenReturn(2);
+        when(testResultDao.save(any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(messagesService.getMessage(any(Locale.class), anyString()))
+                .thenAnswer(invocation -> invocation.getArgument(1));
+        when(messagesService.getMessage(any(Locale.class), anyString(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(1));
+        port = server.start(0, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    void shouldServeManyConnectionsFromOneThread() throws IOException {
+        var sockets = new ArrayList<Socket>();
+        for (int i = 0; i < 100; i++) {
+            sockets.add(new Socket("localhost", port));
+        }
+        for (var socket : sockets) {
+            socket.getOutputStream().write("Remote\nStudent\n1\n2\n".getBytes(StandardCharsets.UTF_8));
+        }
+        for (var socket : sockets) {
+            try (socket) {
+                var transcript = new String(socket.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+                assertThat(transcript)
+                        .contains("StudentService.input.first.name", "TestService.question.format")
+                        .endsWith("ResultService.passed.test" + System.lineSeparator());
+            }
+        }
+        verify(bankAnalytics, times(200)).registerAnswer(anyInt(), anyInt(), eq(true));
+        verify(questionAnalyticsService, never()).getBank(anyString());
+    }
+
+    @Test
+    void shouldServeReloadedBankToNewConnections() throws IOException {
+        when(questionDao.findAll("questions.csv"))
+                .thenReturn(List.of(new Question("Q3?", List.of(new Answer("Yes", true)))));
+        server.onQuestionBankChanged(new QuestionBankChangedEvent("questions.csv"));
+
+        try (var socket = new Socket("localhost", port)) {
+            socket.getOutputStream().write("Remote\nStudent\n1\n".getBytes(StandardCharsets.UTF_8));
+
+            var transcript = new String(socket.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+
+            assertThat(transcript.split("TestService.question.format", -1)).hasSize(2);
+            assertThat(transcript).endsWith("ResultService.fail.test" + System.lineSeparator());
+        }
+        verify(questionDao, never()).streamAll(anyString());
+    }
+
+    @Test
+    void shouldFinishSelectorThreadOnStopBeforeRestart() throws IOException {
+        server.stop();
+
+        assertThat(Thread.getAllStackTraces().keySet())
+                .noneMatch(thread -> thread.getName().equals("nio-exam-server"));
+
+        port = server.start(0, null);
+        try (var socket = new Socket("localhost", port)) {
+            socket.getOutputStream().write("Remote\nStudent\n1\n2\n".getBytes(StandardCharsets.UTF_8));
+
+            var transcript = new String(socket.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+
+            assertThat(transcript).endsWith("ResultService.passed.test" + System.lineSeparator());
+        }
+    }
+
+    @Test
+    void shouldRepeatQuestionAfterInvalidAnswer() throws IOException {
+        try (var socket = new Socket("localhost", port)) {
+            socket.getOutputStream().write("Remote\r\nStudent\r\n7\r\nabc\r\n2\r\n1\r\n".getBytes(StandardCharsets.UTF_8));
+
+            var transcript = new String(socket.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+
+            assertThat(transcript.split("TestService.invalid.input.error", -1)).hasSize(3);
+            assertThat(transcript).endsWith("ResultService.fail.test" + System.lineSeparator());
+        }
+    }
+}
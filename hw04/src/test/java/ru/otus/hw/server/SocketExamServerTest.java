@@ -0,0 +1,112 @@
+package ru.otus.hw.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import ru.otus.hw.config.LocaleConfig;
+import ru.otus.hw.config.SessionConfig;
+import ru.otus.hw.config.TestConfig;
+import ru.otus.hw.config.TestFileNameProvider;
+import ru.otus.hw.dao.QuestionDao;
+import ru.otus.hw.dao.TestResultDao;
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.metrics.LatencyMetrics;
+import ru.otus.hw.service.BankAnalytics;
+import ru.otus.hw.service.LocalizedMessagesService;
+import ru.otus.hw.service.QuestionAnalyticsService;
+import ru.otus.hw.service.SessionEngineImpl;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(classes = {SocketExamServer.class, SessionEngineImpl.class})
+class SocketExamServerTest {
+
+    private static final List<Question> QUESTIONS = List.of(
+            new Question("Q1?", List.of(new Answer("Yes", true), new Answer("No", false))));
+
+    @MockitoBean
+    private LocalizedMessagesService messagesService;
+
+    @MockitoBean
+    private QuestionDao questionDao;
+
+    @MockitoBean
+    private TestConfig testConfig;
+
+    @MockitoBean
+    private QuestionAnalyticsService questionAnalyticsService;
+
+    @MockitoBean
+    private TestResultDao testResultDao;
+
+    @MockitoBean
+    private LocaleConfig localeConfig;
+
+    @MockitoBean
+    private TestFileNameProvider fileNameProvider;
+
+    @MockitoBean
+    private LatencyMetrics latencyMetrics;
+
+    @MockitoBean
+    private SessionConfig sessionConfig;
+
+    @Autowired
+    private SocketExamServer server;
+
+    private int port;
+
+    @BeforeEach
+    void setUp() {
+        when(localeConfig.getLocale()).thenReturn(Locale.ENGLISH);
+        when(fileNameProvider.getTestFileName(Locale.ENGLISH)).thenReturn("questions.csv");
+        when(questionDao.streamAll("questions.csv")).thenAnswer(invocation -> QUESTIONS.stream());
+        when(questionAnalyticsService.getBank("questions.csv")).thenReturn(mock(BankAnalytics.class));
+        when(testConfig.getRightAnswersCountToPass()).thenReturn(1);
+        when(testResultDao.save(any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(sessionConfig.getSessionReadTimeoutSeconds()).thenReturn(1);
+        when(messagesService.getMessage(any(Locale.class), anyString()))
+                .thenAnswer(invocation -> invocation.getArgument(1));
+        when(messagesService.getMessage(any(Locale.class), anyString(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(1));
+        port = server.start(0, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    void shouldDropIdleClient() throws IOException {
+        try (var idle = new Socket("localhost", port)) {
+            idle.setSoTimeout(10_000);
+
+            var transcript = new String(idle.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+
+            assertThat(transcript).isEqualTo("StudentService.input.first.name" + System.lineSeparator());
+        }
+        try (var socket = new Socket("localhost", port)) {
+            socket.getOutputStream().write("Remote\nStudent\n1\n".getBytes(StandardCharsets.UTF_8));
+
+            var transcript = new String(socket.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+
+            assertThat(transcript).endsWith("ResultService.passed.test" + System.lineSeparator());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package ru.otus.hw.service;
+
+import org.junit.jupiter.api.Test;
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.domain.Student;
+import ru.otus.hw.domain.TestResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class AdaptiveQuestionSelectorTest {
+
+    private static final Question EASY = question("Easy?");
+
+    private static final Question MEDIUM = question("Medium?");
+
+    private static final Question HARD = question("Hard?");
+
+    private static final List<Question> QUESTIONS = List.of(EASY, MEDIUM, HARD);
+
+    private static final double[] RIGHT_ANSWERS_RATES = {0.95, 0.5, 0.05};
+
+    private static final QuestionDifficulties DIFFICULTIES =
+            QuestionDifficulties.of(QUESTIONS.size(), index -> RIGHT_ANSWERS_RATES[index]);
+
+    @Test
+    void shouldAskHarderQuestionsAfterRightAnswers() {
+        var testResult = new TestResult(new Student("John", "Doe"));
+        var selector = new AdaptiveQuestionSelector(QUESTIONS, DIFFICULTIES,
+                testResult, 3, 3, 0);
+
+        var asked = new ArrayList<Question>();
+        while (selector.hasNext()) {
+            var question = selector.next();
+            asked.add(question.question());
+            testResult.applyAnswer(question.index(), 0, true);
+        }
+
+        assertThat(asked).containsExactly(MEDIUM, HARD, EASY);
+    }
+
+    @Test
+    void shouldStopWhenPassIsOutOfReach() {
+        var testResult = new TestResult(new Student("John", "Doe"));
+        var selector = new AdaptiveQuestionSelector(QUESTIONS, DIFFICULTIES,
+                testResult, 3, 3, 0);
+
+        testResult.applyAnswer(selector.next().index(), 1, false);
+
+        assertThat(selector.hasNext()).isFalse();
+    }
+
+    @Test
+    void shouldComputeBinomialTail() {
+        assertThat(AdaptiveQuestionSelector.atLeastProbability(10, 0.5, 0)).isEqualTo(1);
+        assertThat(AdaptiveQuestionSelector.atLeastProbability(10, 0.5, 11)).isZero();
+        assertThat(AdaptiveQuestionSelector.atLeastProbability(10, 0.5, 8)).isCloseTo(56.0 / 1024, within(1e-12));
+        assertThat(AdaptiveQuestionSelector.atLeastProbability(100_000, 0.3, 3)).isCloseTo(1, within(1e-12));
+    }
+
+    private static Question question(String text) {
+        return new Question(text, List.of(new Answer("Yes", true), new Answer("No", false)));
+    }
+}
@@ -0,0 +1,114 @@
+package ru.otus.hw.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import ru.otus.hw.config.TestConfig;
+import ru.otus.hw.dao.QuestionDao;
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.GradedSheet;
+import ru.otus.hw.domain.Question;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(classes = BatchGradingServiceImpl.class)
+class BatchGradingServiceImplTest {
+
+    private static final List<Question> QUESTIONS = List.of(
+            new Question("Q1?", List.of(new Answer("Yes", true), new Answer("No", false))),
+            new Question("Q2?", List.of(new Answer("Yes", false), new Answer("No", false), new Answer("Maybe", true))));
+
+    @Autowired
+    private BatchGradingService batchGradingService;
+
+    @MockitoBean
+    private QuestionDao questionDao;
+
+    @MockitoBean
+    private TestConfig testConfig;
+
+    @BeforeEach
+    void setUp() {
+        when(questionDao.findAll()).thenReturn(QUESTIONS);
+        when(testConfig.getRightAnswersCountToPass()).thenReturn(2);
+    }
+
+    @Test
+    void shouldGradeSheetsAndSkipRowsOutsideTheBank() {
+        var sheets = batchGradingService.grade(Stream.of(
+                "# student;question;answer",
+                "Ivan Petrov;1;1",
+                "John Doe;1;2",
+                "Ivan Petrov;2;3",
+                "John Doe; 2 ;3",
+                "John Doe;3;1",
+                "John Doe;2;4",
+                "broken row"));
+
+        assertThat(sheets).containsExactly(
+                new GradedSheet("Ivan Petrov", 2, 2, true),
+                new GradedSheet("John Doe", 2, 1, false));
+    }
+
+    @Test
+    void shouldCountRepeatedQuestionOnceWithTheLastAnswer() {
+        var sheets = batchGradingService.grade(Stream.of(
+                "Ivan Petrov;1;1",
+                "Ivan Petrov;1;1",
+                "Ivan Petrov;1;1",
+                "John Doe;2;3",
+                "John Doe;2;1",
+                "John Doe;1;2",
+                "John Doe;1;1"));
+
+        assertThat(sheets).containsExactly(
+                new GradedSheet("Ivan Petrov", 1, 1, false),
+                new GradedSheet("John Doe", 2, 1, false));
+    }
+
+    @Test
+    void shouldKeepTheLastAnswerWhenGradingInParallel(@TempDir Path dir) throws IOException {
+        var rows = new ArrayList<String>();
+        IntStream.range(0, 20_000).forEach(i -> rows.add("Student;1;" + (i % 2 + 1)));
+        rows.add("Student;1;1");
+        rows.add("Student;2;3");
+        var input = Files.write(dir.resolve("sheets.csv"), rows, StandardCharsets.UTF_8);
+
+        var report = batchGradingService.gradeFile(input, dir.resolve("results.csv"));
+
+        assertThat(report).isEqualTo(new BatchGradingService.BatchGradingReport(20_002, 0, 1, 1));
+        assertThat(Files.readAllLines(dir.resolve("results.csv"), StandardCharsets.UTF_8))
+                .containsExactly("Student;2;2;true");
+    }
+
+    @Test
+    void shouldGradeLargeFileInParallel(@TempDir Path dir) throws IOException {
+        var rows = new ArrayList<String>();
+        IntStream.range(0, 10_000).forEach(student -> {
+            rows.add("Student " + student + ";1;1");
+            rows.add("Student " + student + ";2;" + (student % 2 == 0 ? 3 : 1));
+        });
+        var input = Files.write(dir.resolve("sheets.csv"), rows, StandardCharsets.UTF_8);
+        var output = dir.resolve("results.csv");
+
+        var report = batchGradingService.gradeFile(input, output);
+
+        assertThat(report).isEqualTo(new BatchGradingService.BatchGradingReport(20_000, 0, 10_000, 5_000));
+        assertThat(Files.readAllLines(output, StandardCharsets.UTF_8))
+                .hasSize(10_000)
+                .contains("Student 0;2;2;true", "Student 1;2;1;false");
+    }
+}
@@ -0,0 +1,91 @@
+package ru.otus.hw.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import ru.otus.hw.config.LocaleConfig;
+import ru.otus.hw.config.MessageCacheConfig;
+import ru.otus.hw.metrics.LatencyMetrics;
+
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalizedMessagesServiceImplTest {
+
+    private static final Locale RU = Locale.forLanguageTag("ru-RU");
+
+    private static final Object[][] ARGUMENTS = {
+            {},
+            {"Иван Петров", "ответ"},
+            {7, 3},
+            {1234567, -5},
+            {java.time.LocalDate.of(2024, 1, 1), null},
+    };
+
+    private final ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+
+    private Locale locale;
+
+    private LocalizedMessagesServiceImpl messagesService;
+
+    @BeforeEach
+    void setUp() {
+        messageSource.setBasename("messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        messageSource.setFallbackToSystemLocale(false);
+
+        LocaleConfig localeConfig = new LocaleConfig() {
+            @Override
+            public Locale getLocale() {
+                return locale;
+            }
+
+            @Override
+            public Set<Locale> getSupportedLocales() {
+                return Set.of(Locale.US, RU);
+            }
+        };
+        MessageCacheConfig cacheConfig = () -> true;
+        messagesService = new LocalizedMessagesServiceImpl(localeConfig, messageSource, cacheConfig,
+                LatencyMetrics.disabled());
+        messagesService.preload();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"en-US", "ru-RU"})
+    void shouldRenderMessagesAsMessageSource(String languageTag) {
+        locale = Locale.forLanguageTag(languageTag);
+        for (var code : ResourceBundle.getBundle("messages").keySet()) {
+            for (var args : ARGUMENTS) {
+                assertThat(messagesService.getMessage(code, args))
+                        .as("%s %s", code, languageTag)
+                        .isEqualTo(messageSource.getMessage(code, args, locale));
+            }
+        }
+    }
+
+    @Test
+    void shouldNotMissAfterPreload() {
+        locale = RU;
+        messagesService.getMessage("TestService.answer.format", 1, "Да");
+        messagesService.getMessage("ResultService.student", "Иван Петров");
+
+        var stats = messagesService.getCacheStats();
+        assertThat(stats.misses()).isZero();
+        assertThat(stats.hits()).isEqualTo(2);
+        assertThat(stats.templatesCount()).isEqualTo(2 * ResourceBundle.getBundle("messages").keySet().size());
+    }
+
+    @Test
+    void shouldHandleQuotesAndTypedArguments() {
+        var template = MessageTemplate.compile("'{0}' isn''t {0}, {1,number,#.#}", Locale.US);
+
+        assertThat(template.format("x", 1.25)).isEqualTo("{0} isn't x, 1.2");
+        assertThat(MessageTemplate.compile("It''s {0} of {1}", Locale.US).format(2, 3)).isEqualTo("It's 2 of 3");
+    }
+}
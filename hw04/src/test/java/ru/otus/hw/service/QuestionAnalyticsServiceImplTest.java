@@ -0,0 +1,109 @@
+package ru.otus.hw.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import ru.otus.hw.config.TestFileNameProvider;
+import ru.otus.hw.dao.QuestionBankChangedEvent;
+import ru.otus.hw.dao.QuestionDao;
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(classes = QuestionAnalyticsServiceImpl.class)
+class QuestionAnalyticsServiceImplTest {
+
+    private static final List<Question> QUESTIONS = List.of(
+            new Question("Q1?", List.of(new Answer("Yes", true), new Answer("No", false))),
+            new Question("Q2?", List.of(new Answer("Yes", false), new Answer("No", false), new Answer("Maybe", true))));
+
+    @MockitoBean
+    private QuestionDao questionDao;
+
+    @MockitoBean
+    private TestFileNameProvider fileNameProvider;
+
+    @Autowired
+    private QuestionAnalyticsServiceImpl questionAnalyticsService;
+
+    @BeforeEach
+    void setUp() {
+        when(fileNameProvider.getTestFileName()).thenReturn("questions.csv");
+        when(questionDao.findAll("questions.csv")).thenReturn(QUESTIONS);
+        // the service is shared by the tests
+        questionAnalyticsService.onQuestionBankChanged(new QuestionBankChangedEvent("questions.csv"));
+    }
+
+    @Test
+    void shouldCountConcurrentAnswersPerQuestion() {
+        IntStream.range(0, 10_000).parallel().forEach(i -> {
+            questionAnalyticsService.registerAnswer("questions.csv", 0, i % 2, i % 2 == 0);
+            questionAnalyticsService.registerAnswer("questions.csv", 0, 0, true);
+        });
+
+        var stats = questionAnalyticsService.getStats();
+
+        assertThat(stats).hasSize(2);
+        assertThat(stats.get(0).question()).isEqualTo(QUESTIONS.get(0));
+        assertThat(stats.get(0).attempts()).isEqualTo(20_000);
+        assertThat(stats.get(0).rightAnswersRate()).isEqualTo(0.75);
+        assertThat(stats.get(0).chosenAnswers()).containsExactly(15_000, 5_000);
+        assertThat(stats.get(1).attempts()).isZero();
+        assertThat(stats.get(1).chosenAnswers()).containsExactly(0, 0, 0);
+        verify(questionDao, times(1)).findAll("questions.csv");
+    }
+
+    @Test
+    void shouldResolveBankFromGivenQuestionsWithoutReading() {
+        var bank = questionAnalyticsService.getBank("questions.csv", QUESTIONS);
+        bank.registerAnswer(1, 2, true);
+
+        assertThat(questionAnalyticsService.getBank("questions.csv", QUESTIONS)).isSameAs(bank);
+        assertThat(questionAnalyticsService.getRightAnswersRate("questions.csv", 1)).isEqualTo(2.0 / 3);
+        assertThat(questionAnalyticsService.getBank("questions.csv", QUESTIONS.subList(0, 1))).isNotSameAs(bank);
+        verify(questionDao, never()).findAll("questions.csv");
+    }
+
+    @Test
+    void shouldRebuildDifficultiesAfterAsManyAnswersAsQuestions() {
+        var difficulties = questionAnalyticsService.getDifficulties("questions.csv");
+        questionAnalyticsService.registerAnswer("questions.csv", 0, 0, true);
+
+        assertThat(questionAnalyticsService.getDifficulties("questions.csv")).isSameAs(difficulties);
+
+        questionAnalyticsService.registerAnswer("questions.csv", 0, 0, true);
+        var rebuilt = questionAnalyticsService.getDifficulties("questions.csv");
+
+        assertThat(rebuilt).isNotSameAs(difficulties);
+        assertThat(rebuilt.getQuestionsCount()).isEqualTo(2);
+        assertThat(rebuilt.bucket(15)).containsExactly(0);
+        assertThat(rebuilt.bucket(10)).containsExactly(1);
+    }
+
+    @Test
+    void shouldStartCountingAnewWhenBankChanges() {
+        questionAnalyticsService.registerAnswer("questions.csv", 1, 2, true);
+        assertThat(questionAnalyticsService.getRightAnswersRate("questions.csv", 1)).isEqualTo(2.0 / 3);
+
+        var changed = List.of(new Question("Q3?", List.of(new Answer("Yes", true))));
+        when(questionDao.findAll("questions.csv")).thenReturn(changed);
+        questionAnalyticsService.onQuestionBankChanged(new QuestionBankChangedEvent("questions.csv"));
+        // the old bank had two questions, the answer of a session that started on it is dropped
+        questionAnalyticsService.registerAnswer("questions.csv", 1, 2, true);
+
+        assertThat(questionAnalyticsService.getRightAnswersRate("questions.csv", 1)).isEqualTo(0.5);
+        assertThat(questionAnalyticsService.getStats())
+                .singleElement()
+                .satisfies(stats -> assertThat(stats.attempts()).isZero());
+    }
+}
@@ -0,0 +1,88 @@
+package ru.otus.hw.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import ru.otus.hw.config.TestConfig;
+import ru.otus.hw.dao.QuestionDao;
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.domain.SessionContext;
+import ru.otus.hw.metrics.LatencyMetrics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(classes = ScriptedRunServiceImpl.class)
+class ScriptedRunServiceImplTest {
+
+    private static final List<Question> QUESTIONS = List.of(
+            new Question("Q1?", List.of(new Answer("Yes", true), new Answer("No", false))),
+            new Question("Q2?", List.of(new Answer("Yes", false), new Answer("No", true))));
+
+    @MockitoBean
+    private LocalizedMessagesService messagesService;
+
+    @MockitoBean
+    private QuestionDao questionDao;
+
+    @MockitoBean
+    private TestConfig testConfig;
+
+    @MockitoBean
+    private QuestionAnalyticsService questionAnalyticsService;
+
+    @MockitoBean
+    private SessionEngine sessionEngine;
+
+    @MockitoBean
+    private LatencyMetrics latencyMetrics;
+
+    @Autowired
+    private ScriptedRunService scriptedRunService;
+
+    @TempDir
+    private Path directory;
+
+    @BeforeEach
+    void setUp() {
+        when(sessionEngine.createContext(any())).thenReturn(new SessionContext(Locale.US, "questions.csv"));
+        when(questionDao.streamAll("questions.csv")).thenAnswer(invocation -> QUESTIONS.stream());
+        when(testConfig.getRightAnswersCountToPass()).thenReturn(2);
+        when(messagesService.getMessage(any(Locale.class), anyString(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(1));
+    }
+
+    @Test
+    void shouldRunEveryScriptedStudent() throws IOException {
+        var script = Files.writeString(directory.resolve("students.txt"), """
+                # first name;last name;answers
+                Ivan;Petrov;1 2
+
+                Anna;Smirnova;2,1
+                Broken;Student;1
+                """);
+
+        var report = scriptedRunService.run(script, 2, null);
+
+        assertThat(report.sessionsCount()).isEqualTo(3);
+        assertThat(report.passedCount()).isEqualTo(1);
+        assertThat(report.failedCount()).isEqualTo(1);
+        assertThat(report.p50Nanos()).isPositive().isLessThanOrEqualTo(report.p99Nanos());
+        assertThat(report.p99Nanos()).isLessThanOrEqualTo(report.maxNanos());
+        assertThat(report.sessionsPerSecond()).isPositive();
+        verifyNoInteractions(questionAnalyticsService);
+    }
+}
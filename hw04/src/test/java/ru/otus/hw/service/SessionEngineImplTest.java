@@ -0,0 +1,193 @@
+package ru.otus.hw.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import ru.otus.hw.config.LocaleConfig;
+import ru.otus.hw.config.SessionConfig;
+import ru.otus.hw.config.TestConfig;
+import ru.otus.hw.config.TestFileNameProvider;
+import ru.otus.hw.dao.QuestionDao;
+import ru.otus.hw.dao.TestResultDao;
+import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.Question;
+import ru.otus.hw.domain.SessionRecord;
+import ru.otus.hw.domain.TestResult;
+import ru.otus.hw.metrics.LatencyMetrics;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(classes = SessionEngineImpl.class)
+class SessionEngineImplTest {
+
+    private static final int SESSIONS_COUNT = 200;
+
+    private static final Locale RUSSIAN = Locale.forLanguageTag("ru-RU");
+
+    private static final List<Question> QUESTIONS = List.of(
+            new Question("Q1?", List.of(new Answer("Yes", true), new Answer("No", false))),
+            new Question("Q2?", List.of(new Answer("Yes", false), new Answer("No", true))));
+
+    @MockitoBean
+    private LocalizedMessagesService messagesService;
+
+    @MockitoBean
+    private QuestionDao questionDao;
+
+    @MockitoBean
+    private TestConfig testConfig;
+
+    @MockitoBean
+    private QuestionAnalyticsService questionAnalyticsService;
+
+    @MockitoBean
+    private TestResultDao testResultDao;
+
+    @MockitoBean
+    private LocaleConfig localeConfig;
+
+    @MockitoBean
+    private TestFileNameProvider fileNameProvider;
+
+    @MockitoBean
+    private LatencyMetrics latencyMetrics;
+
+    @MockitoBean
+    private SessionConfig sessionConfig;
+
+    @Autowired
+    private SessionEngine sessionEngine;
+
+    @BeforeEach
+    void setUp() {
+        when(localeConfig.getLocale()).thenReturn(RUSSIAN);
+        when(localeConfig.getSupportedLocales()).thenReturn(Set.of(RUSSIAN, Locale.US));
+        when(fileNameProvider.getTestFileName(RUSSIAN)).thenReturn("questions_ru.csv");
+        when(fileNameProvider.getTestFileName(Locale.US)).thenReturn("questions.csv");
+        when(questionDao.streamAll(anyString())).thenAnswer(invocation -> QUESTIONS.stream());
+        when(questionAnalyticsService.getBank(anyString())).thenReturn(mock(BankAnalytics.class));
+        when(messagesService.getMessage(any(Locale.class), anyString(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(0, Locale.class).toLanguageTag() + ":"
+                        + invocation.getArgument(1));
+        when(testResultDao.save(any())).thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    @Test
+    void shouldRunIndependentSessionsConcurrently() {
+        var sessionContext = sessionEngine.createContext(null);
+        var sessions = IntStream.range(0, SESSIONS_COUNT)
+                .mapToObj(i -> sessionEngine.startSession(input("Student\n" + i + "\n1\n" + (i % 2 + 1) + "\n"),
+                        new ByteArrayOutputStream(), sessionContext))
+                .toList();
+        CompletableFuture.allOf(sessions.toArray(CompletableFuture[]::new)).join();
+
+        for (int i = 0; i < SESSIONS_COUNT; i++) {
+            TestResult result = sessions.get(i).join();
+            assertThat(result.getStudent().lastName()).isEqualTo(String.valueOf(i));
+            assertThat(result.getAnsweredQuestionsCount()).isEqualTo(2);
+            assertThat(result.getRightAnswersCount()).isEqualTo(i % 2 + 1);
+        }
+        verify(testResultDao, times(SESSIONS_COUNT)).save(any());
+    }
+
+    @Test
+    void shouldKeepLocaleOfEachSession() {
+        var outputs = new ArrayList<ByteArrayOutputStream>();
+        var sessions = new ArrayList<CompletableFuture<TestResult>>();
+        for (int i = 0; i < SESSIONS_COUNT; i++) {
+            var locale = i % 2 == 0 ? RUSSIAN : Locale.US;
+            var output = new ByteArrayOutputStream();
+            outputs.add(output);
+            sessions.add(sessionEngine.startSession(input("Student\n" + i + "\n1\n1\n"), output,
+                    sessionEngine.createContext(locale)));
+        }
+        CompletableFuture.allOf(sessions.toArray(CompletableFuture[]::new)).join();
+
+        for (int i = 0; i < SESSIONS_COUNT; i++) {
+            var transcript = outputs.get(i).toString(StandardCharsets.UTF_8);
+            assertThat(transcript)
+                    .contains(i % 2 == 0 ? "ru-RU:" : "en-US:")
+                    .doesNotContain(i % 2 == 0 ? "en-US:" : "ru-RU:");
+        }
+        verify(questionDao, times(SESSIONS_COUNT / 2)).streamAll("questions_ru.csv");
+        verify(questionDao, times(SESSIONS_COUNT / 2)).streamAll("questions.csv");
+        var records = ArgumentCaptor.forClass(SessionRecord.class);
+        verify(testResultDao, times(SESSIONS_COUNT)).save(records.capture());
+        assertThat(records.getAllValues()).extracting(SessionRecord::locale)
+                .containsOnly(RUSSIAN, Locale.US);
+    }
+
+    @Test
+    void shouldRejectUnsupportedLocale() {
+        assertThatThrownBy(() -> sessionEngine.createContext(Locale.GERMANY))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldRejectSessionsBeyondLimitAndQueue() throws Exception {
+        var limitedEngine = new SessionEngineImpl(messagesService, questionDao, testConfig, testResultDao,
+                localeConfig, fileNameProvider, questionAnalyticsService, latencyMetrics, new LimitedSessions(1, 1));
+        var sessionContext = limitedEngine.createContext(null);
+        try (var blockedInput = new PipedInputStream(); var blockedOutput = new PipedOutputStream(blockedInput);
+             var queuedInput = new PipedInputStream(); var queuedOutput = new PipedOutputStream(queuedInput)) {
+            var running = limitedEngine.startSession(blockedInput, new ByteArrayOutputStream(), sessionContext);
+            var queued = limitedEngine.startSession(queuedInput, new ByteArrayOutputStream(), sessionContext);
+
+            assertThatThrownBy(() -> limitedEngine.startSession(input(""), new ByteArrayOutputStream(),
+                    sessionContext)).isInstanceOf(RejectedExecutionException.class);
+
+            blockedOutput.write("Student\n1\n1\n1\n".getBytes(StandardCharsets.UTF_8));
+            queuedOutput.write("Student\n2\n1\n1\n".getBytes(StandardCharsets.UTF_8));
+            assertThat(running.get(10, TimeUnit.SECONDS).getAnsweredQuestionsCount()).isEqualTo(2);
+            assertThat(queued.get(10, TimeUnit.SECONDS).getAnsweredQuestionsCount()).isEqualTo(2);
+        } finally {
+            limitedEngine.shutdown();
+        }
+    }
+
+    private static ByteArrayInputStream input(String lines) {
+        return new ByteArrayInputStream(lines.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private record LimitedSessions(int maxConcurrentSessions, int sessionQueueCapacity) implements SessionConfig {
+
+        @Override
+        public int getMaxConcurrentSessions() {
+            return maxConcurrentSessions;
+        }
+
+        @Override
+        public int getSessionQueueCapacity() {
+            return sessionQueueCapacity;
+        }
+
+        @Override
+        public int getSessionReadTimeoutSeconds() {
+            return 0;
+        }
+    }
+}
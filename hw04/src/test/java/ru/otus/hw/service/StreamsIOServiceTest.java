@@ -0,0 +1,71 @@
+package ru.otus.hw.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamsIOServiceTest {
+
+    private static final String INPUT = "Иван\n7\n2\n";
+
+    @Test
+    void bufferedOutputShouldMatchUnbufferedOutput() {
+        var unbuffered = render(out -> new StreamsIOService(out, input()));
+        var buffered = render(out -> new StreamsIOService(out, input(), true));
+
+        assertThat(buffered).isEqualTo(unbuffered)
+                .contains("Вопрос: 2 + 2 = ?", "1) 4 (100%)", "0.50", "Ответ: 2");
+    }
+
+    @Test
+    void bufferedOutputShouldBeWrittenOnlyBeforeRead() {
+        var bytes = new ByteArrayOutputStream();
+        var out = new PrintStream(bytes, false, StandardCharsets.UTF_8);
+        var ioService = new StreamsIOService(out, input(), true);
+
+        ioService.printFormattedLine("%d) %s", 1, "Да");
+        assertThat(bytes.size()).isZero();
+
+        ioService.readString();
+        assertThat(bytes.toString(StandardCharsets.UTF_8)).isEqualTo("1) Да" + System.lineSeparator());
+    }
+
+    @Test
+    void bufferedOutputShouldBeEncodedInCharsetOfStream() {
+        var consoleCharset = Charset.forName("IBM866");
+        var bytes = new ByteArrayOutputStream();
+        var out = new PrintStream(bytes, false, consoleCharset);
+        var ioService = new StreamsIOService(out, input(), true);
+
+        ioService.printFormattedLine("%s: %d", "Вопрос", 1);
+        ioService.flush();
+
+        assertThat(bytes.toString(consoleCharset)).isEqualTo("Вопрос: 1" + System.lineSeparator());
+    }
+
+    private static String render(Function<PrintStream, StreamsIOService> factory) {
+        var bytes = new ByteArrayOutputStream();
+        var ioService = factory.apply(new PrintStream(bytes, false, StandardCharsets.UTF_8));
+
+        ioService.printLine("");
+        var name = ioService.readStringWithPrompt("Имя:");
+        ioService.printFormattedLine("Вопрос: %s", "2 + 2 = ?");
+        ioService.printFormattedLine("%d) %s (100%%)", 1, "4");
+        ioService.printFormattedLine("%.2f", 0.5);
+        int answer = ioService.readIntForRangeWithPrompt(1, 3, "Ответ:", "Ошибка");
+        ioService.printFormattedLine("%s, Ответ: %d%n", name, answer);
+        ioService.flush();
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+
+    private static ByteArrayInputStream input() {
+        return new ByteArrayInputStream(INPUT.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,16 +1,21 @@
 package ru.otus.hw.service;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import ru.otus.hw.config.TestConfig;
+import ru.otus.hw.config.TestFileNameProvider;
 import ru.otus.hw.dao.QuestionDao;
 import ru.otus.hw.domain.Answer;
+import ru.otus.hw.domain.IndexedQuestion;
 import ru.otus.hw.domain.Question;
 import ru.otus.hw.domain.Student;
 import ru.otus.hw.domain.TestResult;
 
 import java.util.List;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -27,8 +32,25 @@ class TestServiceImplTest {
     @MockitoBean
     private LocalizedIOService ioService;
 
+    @MockitoBean
+    private TestConfig testConfig;
+
+    @MockitoBean
+    private QuestionAnalyticsService questionAnalyticsService;
+
+    @MockitoBean
+    private TestFileNameProvider fileNameProvider;
+
+    private final BankAnalytics bankAnalytics = mock(BankAnalytics.class);
+
     private final Student student = new Student("John", "Doe");
 
+    @BeforeEach
+    void setUp() {
+        when(fileNameProvider.getTestFileName()).thenReturn("questions.csv");
+        when(questionAnalyticsService.getBank("questions.csv")).thenReturn(bankAnalytics);
+    }
+
     @Test
     void shouldCorrectlyExecuteTestAndCountAnswers() {
         List<Question> questions = List.of(
@@ -45,7 +67,7 @@ class TestServiceImplTest {
                         ))
         );
 
-        when(questionDao.findAll()).thenReturn(questions);
+        when(questionDao.streamAll("questions.csv")).thenReturn(questions.stream());
 
         when(ioService.readIntForRangeWithPromptLocalized(
                 eq(1), eq(2), anyString(), anyString()))
@@ -72,8 +94,31 @@ class TestServiceImplTest {
         verify(ioService).readIntForRangeWithPromptLocalized(1, 3, "TestService.enter.answer.prompt", "TestService.invalid.input.error");
 
         assertThat(result.getStudent()).isEqualTo(student);
-        assertThat(result.getAnsweredQuestions()).hasSize(2);
+        assertThat(result.getAnsweredQuestionsCount()).isEqualTo(2);
         assertThat(result.getRightAnswersCount()).isEqualTo(2);
+        assertThat(result.getChosenAnswerIndex(0)).isZero();
+        assertThat(result.getChosenAnswerIndex(1)).isEqualTo(1);
+        assertThat(result.getBankQuestionIndex(1)).isEqualTo(1);
+        verify(bankAnalytics).registerAnswer(0, 0, true);
+        verify(bankAnalytics).registerAnswer(1, 1, true);
+    }
+
+    @Test
+    void shouldAskOnlySampledQuestionsWhenLimitIsSet() {
+        var sampled = new Question("Sampled?", List.of(new Answer("Yes", true), new Answer("No", false)));
+        when(testConfig.getQuestionsPerTest()).thenReturn(1);
+        when(questionDao.sample(eq("questions.csv"), eq(1), anyLong())).thenReturn(List.of(new IndexedQuestion(7, sampled)));
+        when(ioService.readIntForRangeWithPromptLocalized(eq(1), eq(2), anyString(), anyString()))
+                .thenReturn(1);
+
+        TestResult result = testService.executeTestFor(student);
+
+        verify(questionDao, never()).streamAll(anyString());
+        verify(ioService).printFormattedLineLocalized("TestService.question.format", "Sampled?");
+        assertThat(result.getAnsweredQuestionsCount()).isEqualTo(1);
+        assertThat(result.getRightAnswersCount()).isEqualTo(1);
+        assertThat(result.isRightAnswer(0)).isTrue();
+        assertThat(result.getBankQuestionIndex(0)).isEqualTo(7);
     }
 
     @Test
@@ -81,7 +126,7 @@ class TestServiceImplTest {
         List<Question> questions = List.of(
                 new Question("Q?", List.of(new Answer("Yes", true), new Answer("No", false)))
         );
-        when(questionDao.findAll()).thenReturn(questions);
+        when(questionDao.streamAll("questions.csv")).thenReturn(questions.stream());
 
         when(ioService.readIntForRangeWithPromptLocalized(eq(1), eq(2), anyString(), anyString()))
                 .thenReturn(2);
@@ -90,4 +135,29 @@ class TestServiceImplTest {
 
         assertThat(result.getRightAnswersCount()).isEqualTo(0);
     }
+
+    @Test
+    void shouldStopAdaptiveTestOnceVerdictIsKnown() {
+        var questions = IntStream.range(0, 20)
+                .mapToObj(i -> new Question("Q" + i + "?", List.of(new Answer("Yes", true), new Answer("No", false))))
+                .toList();
+        when(questionDao.findAll("questions.csv")).thenReturn(questions);
+        when(testConfig.isAdaptiveTesting()).thenReturn(true);
+        when(testConfig.getRightAnswersCountToPass()).thenReturn(3);
+        when(bankAnalytics.getDifficulties())
+                .thenReturn(QuestionDifficulties.of(questions.size(), index -> 0.5));
+
+        when(ioService.readIntForRangeWithPromptLocalized(eq(1), eq(2), anyString(), anyString())).thenReturn(1);
+        var passed = testService.executeTestFor(student);
+
+        when(ioService.readIntForRangeWithPromptLocalized(eq(1), eq(2), anyString(), anyString())).thenReturn(2);
+        var failed = testService.executeTestFor(student);
+
+        verify(questionDao, never()).streamAll(anyString());
+        assertThat(passed.getAnsweredQuestionsCount()).isEqualTo(3);
+        assertThat(passed.getRightAnswersCount()).isEqualTo(3);
+        // after 10 wrong answers 3 right ones out of the 10 left are less likely than 5%
+        assertThat(failed.getAnsweredQuestionsCount()).isEqualTo(10);
+        assertThat(failed.getRightAnswersCount()).isZero();
+    }
 }
@@ -3,9 +3,15 @@ package ru.otus.hw.commands;
 import lombok.RequiredArgsConstructor;
 import org.springframework.shell.standard.ShellComponent;
 import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
 import ru.otus.hw.converters.BookConverter;
+import ru.otus.hw.services.BookExportFormat;
+import ru.otus.hw.services.BookExportService;
+import ru.otus.hw.services.BookImportService;
 import ru.otus.hw.services.BookService;
 
+import java.nio.file.Path;
+import java.util.Locale;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -18,11 +24,43 @@ public class BookCommands {
 
     private final BookConverter bookConverter;
 
-    @ShellMethod(value = "Find all books", key = "ab")
-    public String findAllBooks() {
-        return bookService.findAll().stream()
+    private final BookExportService bookExportService;
+
+    private final BookImportService bookImportService;
+
+    // ab, ab --after-id 20, ab --after-id 20 --page-size 100
+    @ShellMethod(value = "Find all books page by page", key = "ab")
+    public String findAllBooks(@ShellOption(value = "--after-id", defaultValue = "0") long afterId,
+                               @ShellOption(value = "--page-size", defaultValue = "20") int pageSize) {
+        var books = bookService.findPage(afterId, pageSize);
+        var page = books.stream()
                 .map(bookConverter::bookToString)
                 .collect(Collectors.joining("," + System.lineSeparator()));
+        if (books.size() < pageSize) {
+            return page;
+        }
+        long lastId = books.get(books.size() - 1).getId();
+        return page + System.lineSeparator() + "Next page: ab --after-id %d --page-size %d".formatted(lastId, pageSize);
+    }
+
+    // bexp --file books.csv, bexp --file books.jsonl --format jsonl
+    @ShellMethod(value = "Export all books to a file", key = "bexp")
+    public String exportBooks(@ShellOption(value = "--file") String file,
+                              @ShellOption(value = "--format", defaultValue = "csv") String format) {
+        var exportFormat = BookExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        long count = bookExportService.export(Path.of(file), exportFormat);
+        return "Exported %d books to %s".formatted(count, file);
+    }
+
+    // bimp --file books.csv, bimp --file books.jsonl --format jsonl --batch-size 5000
+    @ShellMethod(value = "Import books from a file", key = "bimp")
+    public String importBooks(@ShellOption(value = "--file") String file,
+                              @ShellOption(value = "--format", defaultValue = "csv") String format,
+                              @ShellOption(value = "--batch-size", defaultValue = "1000") int batchSize) {
+        var importFormat = BookExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        var report = bookImportService.importBooks(Path.of(file), importFormat, batchSize);
+        return "Imported %d books, rejected %d in %d ms (%.0f books/s)".formatted(report.importedCount(),
+                report.rejectedCount(), report.elapsedNanos() / 1_000_000, report.booksPerSecond());
     }
 
     @ShellMethod(value = "Find book by id", key = "bbid")
@@ -0,0 +1,76 @@
+package ru.otus.hw.converters;
+
+import org.springframework.stereotype.Component;
+import ru.otus.hw.models.Book;
+import ru.otus.hw.models.Genre;
+
+import java.util.stream.Collectors;
+
+@Component
+public class BookExportConverter {
+
+    public static final String CSV_HEADER = "id;title;author_id;author;genre_ids;genres";
+
+    private static final String CSV_LIST_SEPARATOR = "|";
+
+    public String bookToCsv(Book book) {
+        return String.join(";",
+                Long.toString(book.getId()),
+                csvField(book.getTitle()),
+                Long.toString(book.getAuthor().getId()),
+                csvField(book.getAuthor().getFullName()),
+                book.getGenres().stream()
+                        .map(genre -> Long.toString(genre.getId()))
+                        .collect(Collectors.joining(CSV_LIST_SEPARATOR)),
+                csvField(book.getGenres().stream()
+                        .map(Genre::getName)
+                        .collect(Collectors.joining(CSV_LIST_SEPARATOR))));
+    }
+
+    public String bookToJson(Book book) {
+        var genres = book.getGenres().stream()
+                .map(genre -> "{\"id\":%d,\"name\":%s}".formatted(genre.getId(), jsonString(genre.getName())))
+                .collect(Collectors.joining(","));
+        return "{\"id\":%d,\"title\":%s,\"author\":{\"id\":%d,\"fullName\":%s},\"genres\":[%s]}".formatted(
+                book.getId(),
+                jsonString(book.getTitle()),
+                book.getAuthor().getId(),
+                jsonString(book.getAuthor().getFullName()),
+                genres);
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(';') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String jsonString(String value) {
+        if (value == null) {
+            return "null";
+        }
+        var json = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append("\\u%04x".formatted((int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        return json.append('"').toString();
+    }
+}
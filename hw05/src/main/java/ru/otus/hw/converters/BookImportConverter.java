@@ -0,0 +1,259 @@
+package ru.otus.hw.converters;
+
+import org.springframework.stereotype.Component;
+import ru.otus.hw.models.Author;
+import ru.otus.hw.models.Book;
+import ru.otus.hw.models.Genre;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads books in the layout written by {@link BookExportConverter}. Only the title and the author and genre ids
+ * are taken, ids and names of the books are ignored. A malformed line is reported as {@link IllegalArgumentException}.
+ */
+@Component
+public class BookImportConverter {
+
+    private static final int CSV_TITLE = 1;
+
+    private static final int CSV_AUTHOR_ID = 2;
+
+    private static final int CSV_GENRE_IDS = 4;
+
+    public boolean isCsvHeader(String line) {
+        return line.equals(BookExportConverter.CSV_HEADER);
+    }
+
+    public Book csvToBook(String line) {
+        var fields = splitCsv(line);
+        if (fields.size() <= CSV_GENRE_IDS) {
+            throw new IllegalArgumentException("Expected at least %d fields".formatted(CSV_GENRE_IDS + 1));
+        }
+        var genres = new ArrayList<Genre>();
+        for (var genreId : fields.get(CSV_GENRE_IDS).split("\\|")) {
+            if (!genreId.isBlank()) {
+                genres.add(new Genre(parseId(genreId.trim()), null));
+            }
+        }
+        var author = new Author(parseId(fields.get(CSV_AUTHOR_ID).trim()), null);
+        return new Book(0, fields.get(CSV_TITLE), author, genres);
+    }
+
+    public Book jsonToBook(String line) {
+        if (!(new JsonReader(line).readDocument() instanceof Map<?, ?> json)) {
+            throw new IllegalArgumentException("Book must be a JSON object");
+        }
+        if (!(json.get("title") instanceof String title)) {
+            throw new IllegalArgumentException("Book title is missing");
+        }
+        var genres = new ArrayList<Genre>();
+        if (json.get("genres") instanceof List<?> jsonGenres) {
+            for (var jsonGenre : jsonGenres) {
+                genres.add(new Genre(idOf(jsonGenre, "genre"), null));
+            }
+        }
+        return new Book(0, title, new Author(idOf(json.get("author"), "author"), null), genres);
+    }
+
+    private static long idOf(Object json, String entity) {
+        if (json instanceof Map<?, ?> map && map.get("id") instanceof Long id) {
+            return id;
+        }
+        throw new IllegalArgumentException("Id of the %s is missing".formatted(entity));
+    }
+
+    private static long parseId(String id) {
+        try {
+            return Long.parseLong(id);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Id is not a number: " + id, e);
+        }
+    }
+
+    private static List<String> splitCsv(String line) {
+        var fields = new ArrayList<String>();
+        var field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ';') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    // Just enough JSON for one book per line: objects, arrays, strings, integers, booleans and null
+    private static final class JsonReader {
+
+        private final String json;
+
+        private int position;
+
+        private JsonReader(String json) {
+            this.json = json;
+        }
+
+        Object readDocument() {
+            var value = readValue();
+            skipWhitespace();
+            if (position != json.length()) {
+                throw error("Unexpected content");
+            }
+            return value;
+        }
+
+        private Object readValue() {
+            skipWhitespace();
+            if (position == json.length()) {
+                throw error("Unexpected end");
+            }
+            char c = json.charAt(position);
+            return switch (c) {
+                case '{' -> readObject();
+                case '[' -> readArray();
+                case '"' -> readString();
+                case 't' -> readLiteral("true", Boolean.TRUE);
+                case 'f' -> readLiteral("false", Boolean.FALSE);
+                case 'n' -> readLiteral("null", null);
+                default -> readNumber();
+            };
+        }
+
+        private Map<String, Object> readObject() {
+            var object = new LinkedHashMap<String, Object>();
+            position++;
+            if (consume('}')) {
+                return object;
+            }
+            do {
+                skipWhitespace();
+                if (position == json.length() || json.charAt(position) != '"') {
+                    throw error("Expected a field name");
+                }
+                var name = readString();
+                expect(':');
+                object.put(name, readValue());
+            } while (consume(','));
+            expect('}');
+            return object;
+        }
+
+        private List<Object> readArray() {
+            var array = new ArrayList<>();
+            position++;
+            if (consume(']')) {
+                return array;
+            }
+            do {
+                array.add(readValue());
+            } while (consume(','));
+            expect(']');
+            return array;
+        }
+
+        private String readString() {
+            var string = new StringBuilder();
+            position++;
+            while (position < json.length()) {
+                char c = json.charAt(position++);
+                if (c == '"') {
+                    return string.toString();
+                }
+                if (c != '\\') {
+                    string.append(c);
+                    continue;
+                }
+                if (position == json.length()) {
+                    break;
+                }
+                char escaped = json.charAt(position++);
+                switch (escaped) {
+                    case 'n' -> string.append('\n');
+                    case 'r' -> string.append('\r');
+                    case 't' -> string.append('\t');
+                    case 'b' -> string.append('\b');
+                    case 'f' -> string.append('\f');
+                    case 'u' -> {
+                        if (position + 4 > json.length()) {
+                            throw error("Bad unicode escape");
+                        }
+                        string.append((char) Integer.parseInt(json.substring(position, position + 4), 16));
+                        position += 4;
+                    }
+                    default -> string.append(escaped);
+                }
+            }
+            throw error("Unterminated string");
+        }
+
+        private Object readLiteral(String literal, Object value) {
+            if (!json.startsWith(literal, position)) {
+                throw error("Unexpected token");
+            }
+            position += literal.length();
+            return value;
+        }
+
+        private Long readNumber() {
+            int start = position;
+            if (position < json.length() && json.charAt(position) == '-') {
+                position++;
+            }
+            while (position < json.length() && Character.isDigit(json.charAt(position))) {
+                position++;
+            }
+            try {
+                return Long.parseLong(json.substring(start, position));
+            } catch (NumberFormatException e) {
+                throw error("Expected an integer");
+            }
+        }
+
+        private boolean consume(char c) {
+            skipWhitespace();
+            if (position < json.length() && json.charAt(position) == c) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char c) {
+            if (!consume(c)) {
+                throw error("Expected '" + c + "'");
+            }
+        }
+
+        private void skipWhitespace() {
+            while (position < json.length() && Character.isWhitespace(json.charAt(position))) {
+                position++;
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("%s at position %d".formatted(message, position));
+        }
+    }
+}
@@ -4,13 +4,34 @@ import ru.otus.hw.models.Book;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface BookRepository {
     Optional<Book> findById(long id);
 
     List<Book> findAll();
 
+    /**
+     * Keyset page: up to {@code pageSize} books with id greater than {@code afterId}, ordered by id.
+     * The next page starts after the id of the last book of this one.
+     */
+    List<Book> findPage(long afterId, int pageSize);
+
+    /**
+     * Reads all books ordered by id through a forward-only cursor and hands each one to {@code action}
+     * as soon as its last genre is read, so only one book is held in memory at a time.
+     *
+     * @return number of books read
+     */
+    long forEach(Consumer<Book> action);
+
     Book save(Book book);
 
+    /**
+     * Inserts new books with one batch for the books and one for all their genre relations,
+     * generated ids are set on the given books.
+     */
+    void insertAll(List<Book> books);
+
     void deleteById(long id);
 }
@@ -0,0 +1,42 @@
+package ru.otus.hw.repositories;
+
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import ru.otus.hw.config.ReferenceCacheConfig;
+import ru.otus.hw.models.Author;
+
+import java.util.List;
+import java.util.Optional;
+
+@Primary
+@Repository
+public class CachingAuthorRepository implements AuthorRepository {
+
+    private final JdbcAuthorRepository delegate;
+
+    private final ReferenceDataCache<Author> cache;
+
+    public CachingAuthorRepository(JdbcAuthorRepository delegate, ReferenceCacheConfig cacheConfig) {
+        this.delegate = delegate;
+        this.cache = new ReferenceDataCache<>(Author::getId, cacheConfig.getReferenceCacheMaxSize(),
+                cacheConfig.getReferenceCacheTtl());
+    }
+
+    @Override
+    public List<Author> findAll() {
+        return cache.getAll(delegate::findAll);
+    }
+
+    @Override
+    public Optional<Author> findById(long id) {
+        return cache.get(id, delegate::findById);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public ReferenceCacheStats stats() {
+        return cache.stats();
+    }
+}
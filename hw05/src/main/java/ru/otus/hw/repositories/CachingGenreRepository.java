@@ -0,0 +1,42 @@
+package ru.otus.hw.repositories;
+
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import ru.otus.hw.config.ReferenceCacheConfig;
+import ru.otus.hw.models.Genre;
+
+import java.util.List;
+import java.util.Set;
+
+@Primary
+@Repository
+public class CachingGenreRepository implements GenreRepository {
+
+    private final JdbcGenreRepository delegate;
+
+    private final ReferenceDataCache<Genre> cache;
+
+    public CachingGenreRepository(JdbcGenreRepository delegate, ReferenceCacheConfig cacheConfig) {
+        this.delegate = delegate;
+        this.cache = new ReferenceDataCache<>(Genre::getId, cacheConfig.getReferenceCacheMaxSize(),
+                cacheConfig.getReferenceCacheTtl());
+    }
+
+    @Override
+    public List<Genre> findAll() {
+        return cache.getAll(delegate::findAll);
+    }
+
+    @Override
+    public List<Genre> findAllByIds(Set<Long> ids) {
+        return cache.getAll(ids, delegate::findAllByIds);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public ReferenceCacheStats stats() {
+        return cache.stats();
+    }
+}
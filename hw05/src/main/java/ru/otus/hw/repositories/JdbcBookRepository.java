@@ -2,7 +2,9 @@ package ru.otus.hw.repositories;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.PreparedStatementCreator;
 import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
@@ -16,15 +18,21 @@ import ru.otus.hw.models.Genre;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Repository
 @RequiredArgsConstructor
 public class JdbcBookRepository implements BookRepository {
 
+    private static final int EXPORT_FETCH_SIZE = 1000;
+
     private final GenreRepository genreRepository;
 
     private final NamedParameterJdbcOperations jdbcTemplate;
@@ -58,6 +66,55 @@ public class JdbcBookRepository implements BookRepository {
         return books;
     }
 
+    @Override
+    public List<Book> findPage(long afterId, int pageSize) {
+        String sql = """
+               select b.id, b.title,
+                      a.id as author_id, a.full_name as full_name
+               from books b
+               join authors a on a.id = b.author_id
+               where b.id > :after_id
+               order by b.id
+               limit :page_size
+               """;
+
+        MapSqlParameterSource parameters = new MapSqlParameterSource(
+                Map.of(
+                        "after_id", afterId,
+                        "page_size", pageSize
+                )
+        );
+
+        var books = jdbcTemplate.query(sql, parameters, new BookRowMapper());
+        if (!books.isEmpty()) {
+            fillGenres(books);
+        }
+        return books;
+    }
+
+    @Override
+    public long forEach(Consumer<Book> action) {
+        String sql = """
+               select b.id, b.title,
+                      a.id as author_id, a.full_name as full_name,
+                      g.id as genre_id, g.name as genre_name
+               from books b
+               join authors a on a.id = b.author_id
+               left join books_genres bg on b.id = bg.book_id
+               left join genres g on g.id = bg.genre_id
+               order by b.id, g.id
+               """;
+
+        PreparedStatementCreator statementCreator = connection -> {
+            var statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(EXPORT_FETCH_SIZE);
+            return statement;
+        };
+
+        Long count = jdbcTemplate.getJdbcOperations().query(statementCreator, new BookStreamingExtractor(action));
+        return count == null ? 0 : count;
+    }
+
     @Override
     public Book save(Book book) {
         if (book.getId() == 0) {
@@ -66,6 +123,32 @@ public class JdbcBookRepository implements BookRepository {
         return update(book);
     }
 
+    @Override
+    public void insertAll(List<Book> books) {
+        if (books.isEmpty()) {
+            return;
+        }
+        var keyHolder = new GeneratedKeyHolder();
+
+        String sql = "insert into books (title, author_id) values (:title, :author_id)";
+        MapSqlParameterSource[] batchParams = books.stream()
+                .map(book -> new MapSqlParameterSource(
+                        Map.of(
+                                "title", book.getTitle(),
+                                "author_id", book.getAuthor().getId()
+                        )
+                ))
+                .toArray(MapSqlParameterSource[]::new);
+
+        jdbcTemplate.batchUpdate(sql, batchParams, keyHolder, new String[] {"id"});
+
+        var keys = keyHolder.getKeyList();
+        for (int i = 0; i < books.size(); i++) {
+            books.get(i).setId(((Number) keys.get(i).values().iterator().next()).longValue());
+        }
+        batchInsertGenresRelationsFor(books);
+    }
+
     @Override
     public void deleteById(long id) {
         String sql = "delete from books where id = :id";
@@ -93,6 +176,22 @@ public class JdbcBookRepository implements BookRepository {
         );
     }
 
+    private void fillGenres(List<Book> books) {
+        String sql = """
+               select bg.book_id, g.id, g.name
+               from books_genres bg
+               join genres g on g.id = bg.genre_id
+               where bg.book_id in (:book_ids)
+               order by g.id
+               """;
+
+        Map<Long, Book> booksById = books.stream().collect(Collectors.toMap(Book::getId, b -> b));
+        MapSqlParameterSource parameters = new MapSqlParameterSource("book_ids", booksById.keySet());
+
+        jdbcTemplate.query(sql, parameters, (RowCallbackHandler) rs -> booksById.get(rs.getLong("book_id"))
+                .getGenres().add(new Genre(rs.getLong("id"), rs.getString("name"))));
+    }
+
     private void mergeBooksInfo(List<Book> booksWithoutGenres, List<Genre> genres,
                                 List<BookGenreRelation> relations) {
         Map<Long, Genre> genreMap = genres.stream().collect(Collectors.toMap(Genre::getId, g -> g));
@@ -127,7 +226,7 @@ public class JdbcBookRepository implements BookRepository {
 
         //noinspection DataFlowIssue
         book.setId(keyHolder.getKeyAs(Long.class));
-        batchInsertGenresRelationsFor(book);
+        batchInsertGenresRelationsFor(List.of(book));
         return book;
     }
 
@@ -151,20 +250,26 @@ public class JdbcBookRepository implements BookRepository {
             throw new EntityNotFoundException("Book with id %d not found".formatted(book.getId()));
         }
 
-        removeGenresRelationsFor(book);
-        batchInsertGenresRelationsFor(book);
+        updateGenresRelationsFor(book);
 
         return book;
     }
 
-    private void batchInsertGenresRelationsFor(Book book) {
+    private void batchInsertGenresRelationsFor(List<Book> books) {
+        batchInsertGenresRelations(books.stream()
+                .flatMap(book -> book.getGenres().stream()
+                        .map(genre -> new BookGenreRelation(book.getId(), genre.getId())))
+                .toList());
+    }
+
+    private void batchInsertGenresRelations(List<BookGenreRelation> relations) {
         String sql = "insert into books_genres (book_id, genre_id) values (:book_id, :genre_id)";
 
-        MapSqlParameterSource[] batchParams = book.getGenres().stream()
-                .map(genre -> new MapSqlParameterSource(
+        MapSqlParameterSource[] batchParams = relations.stream()
+                .map(relation -> new MapSqlParameterSource(
                         Map.of(
-                                "book_id", book.getId(),
-                                "genre_id", genre.getId()
+                                "book_id", relation.bookId(),
+                                "genre_id", relation.genreId()
                         )
                 ))
                 .toArray(MapSqlParameterSource[]::new);
@@ -172,9 +277,39 @@ public class JdbcBookRepository implements BookRepository {
         jdbcTemplate.batchUpdate(sql, batchParams);
     }
 
-    private void removeGenresRelationsFor(Book book) {
-        String sql = "delete from books_genres where book_id = :book_id";
+    // Only the relations that actually change are written, an update with the same genres touches no rows
+    private void updateGenresRelationsFor(Book book) {
+        String sql = "select genre_id from books_genres where book_id = :book_id";
         MapSqlParameterSource parameterSource = new MapSqlParameterSource("book_id", book.getId());
+        Set<Long> currentGenreIds = new HashSet<>(jdbcTemplate.queryForList(sql, parameterSource, Long.class));
+
+        Set<Long> newGenreIds = book.getGenres().stream()
+                .map(Genre::getId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        Set<Long> removedGenreIds = new HashSet<>(currentGenreIds);
+        removedGenreIds.removeAll(newGenreIds);
+        if (!removedGenreIds.isEmpty()) {
+            removeGenresRelationsFor(book, removedGenreIds);
+        }
+
+        var addedRelations = newGenreIds.stream()
+                .filter(genreId -> !currentGenreIds.contains(genreId))
+                .map(genreId -> new BookGenreRelation(book.getId(), genreId))
+                .toList();
+        if (!addedRelations.isEmpty()) {
+            batchInsertGenresRelations(addedRelations);
+        }
+    }
+
+    private void removeGenresRelationsFor(Book book, Set<Long> genreIds) {
+        String sql = "delete from books_genres where book_id = :book_id and genre_id in (:genre_ids)";
+        MapSqlParameterSource parameterSource = new MapSqlParameterSource(
+                Map.of(
+                        "book_id", book.getId(),
+                        "genre_ids", genreIds
+                )
+        );
         jdbcTemplate.update(sql, parameterSource);
     }
 
@@ -226,6 +361,40 @@ public class JdbcBookRepository implements BookRepository {
         }
     }
 
+    // Rows of one book are adjacent because of the order by, a book is complete when the id changes
+    @RequiredArgsConstructor
+    private static class BookStreamingExtractor implements ResultSetExtractor<Long> {
+
+        private final Consumer<Book> action;
+
+        @Override
+        public Long extractData(ResultSet rs) throws SQLException, DataAccessException {
+            long count = 0;
+            Book book = null;
+            while (rs.next()) {
+                long bookId = rs.getLong("id");
+                if (book == null || book.getId() != bookId) {
+                    if (book != null) {
+                        action.accept(book);
+                        count++;
+                    }
+                    var author = new Author(rs.getLong("author_id"), rs.getString("full_name"));
+                    book = new Book(bookId, rs.getString("title"), author, new ArrayList<>());
+                }
+
+                long genreId = rs.getLong("genre_id");
+                if (!rs.wasNull()) {
+                    book.getGenres().add(new Genre(genreId, rs.getString("genre_name")));
+                }
+            }
+            if (book != null) {
+                action.accept(book);
+                count++;
+            }
+            return count;
+        }
+    }
+
     private record BookGenreRelation(long bookId, long genreId) {
     }
 }
@@ -0,0 +1,9 @@
+package ru.otus.hw.repositories;
+
+public record ReferenceCacheStats(long hits, long misses, int size) {
+
+    public double hitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+}
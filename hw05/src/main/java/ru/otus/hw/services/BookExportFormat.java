@@ -0,0 +1,6 @@
+package ru.otus.hw.services;
+
+public enum BookExportFormat {
+    CSV,
+    JSONL
+}
@@ -0,0 +1,13 @@
+package ru.otus.hw.services;
+
+import java.nio.file.Path;
+
+public interface BookExportService {
+
+    /**
+     * Writes all books to the file one line per book, the file is overwritten.
+     *
+     * @return number of exported books
+     */
+    long export(Path file, BookExportFormat format);
+}
@@ -0,0 +1,62 @@
+package ru.otus.hw.services;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.otus.hw.converters.BookExportConverter;
+import ru.otus.hw.models.Book;
+import ru.otus.hw.repositories.BookRepository;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.function.Function;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+@RequiredArgsConstructor
+@Service
+public class BookExportServiceImpl implements BookExportService {
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final BookRepository bookRepository;
+
+    private final BookExportConverter bookExportConverter;
+
+    // Some drivers honour the fetch size only inside a transaction, otherwise they read the whole result
+    @Transactional(readOnly = true)
+    @Override
+    public long export(Path file, BookExportFormat format) {
+        Function<Book, String> toLine = switch (format) {
+            case CSV -> bookExportConverter::bookToCsv;
+            case JSONL -> bookExportConverter::bookToJson;
+        };
+
+        try (var channel = FileChannel.open(file, CREATE, TRUNCATE_EXISTING, WRITE);
+             var writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE)) {
+            if (format == BookExportFormat.CSV) {
+                writeLine(writer, BookExportConverter.CSV_HEADER);
+            }
+            return bookRepository.forEach(book -> writeLine(writer, toLine.apply(book)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to export books to " + file, e);
+        }
+    }
+
+    private static void writeLine(Writer writer, String line) {
+        try {
+            writer.write(line);
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package ru.otus.hw.services;
+
+public record BookImportReport(long importedCount, long rejectedCount, long elapsedNanos) {
+
+    public double booksPerSecond() {
+        return elapsedNanos == 0 ? 0 : importedCount * 1_000_000_000.0 / elapsedNanos;
+    }
+}
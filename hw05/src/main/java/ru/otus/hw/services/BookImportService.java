@@ -0,0 +1,12 @@
+package ru.otus.hw.services;
+
+import java.nio.file.Path;
+
+public interface BookImportService {
+
+    /**
+     * Inserts books from the file as new ones, committing every {@code batchSize} books.
+     * Lines that cannot be parsed or refer to unknown authors or genres are skipped and counted as rejected.
+     */
+    BookImportReport importBooks(Path file, BookExportFormat format, int batchSize);
+}
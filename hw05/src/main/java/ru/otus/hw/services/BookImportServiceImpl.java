@@ -0,0 +1,125 @@
+package ru.otus.hw.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.otus.hw.converters.BookImportConverter;
+import ru.otus.hw.models.Author;
+import ru.otus.hw.models.Book;
+import ru.otus.hw.models.Genre;
+import ru.otus.hw.repositories.AuthorRepository;
+import ru.otus.hw.repositories.BookRepository;
+import ru.otus.hw.repositories.GenreRepository;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class BookImportServiceImpl implements BookImportService {
+
+    private final AuthorRepository authorRepository;
+
+    private final GenreRepository genreRepository;
+
+    private final BookRepository bookRepository;
+
+    private final BookImportConverter bookImportConverter;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public BookImportReport importBooks(Path file, BookExportFormat format, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        Function<String, Book> toBook = switch (format) {
+            case CSV -> bookImportConverter::csvToBook;
+            case JSONL -> bookImportConverter::jsonToBook;
+        };
+
+        long start = System.nanoTime();
+        // Ids are checked in memory, so a chunk never fails on a foreign key halfway through
+        Set<Long> authorIds = authorRepository.findAll().stream().map(Author::getId).collect(Collectors.toSet());
+        Set<Long> genreIds = genreRepository.findAll().stream().map(Genre::getId).collect(Collectors.toSet());
+
+        long imported = 0;
+        long rejected = 0;
+        var chunk = new ArrayList<Book>(batchSize);
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || lineNumber == 1 && bookImportConverter.isCsvHeader(line)) {
+                    continue;
+                }
+                var book = parse(toBook, line, lineNumber, authorIds, genreIds);
+                if (book == null) {
+                    rejected++;
+                    continue;
+                }
+                chunk.add(book);
+                if (chunk.size() == batchSize) {
+                    imported += insertChunk(chunk);
+                }
+            }
+            imported += insertChunk(chunk);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to import books from " + file, e);
+        }
+
+        var report = new BookImportReport(imported, rejected, System.nanoTime() - start);
+        log.info("{} books imported, {} rejected in {} ms ({} books/s)", report.importedCount(),
+                report.rejectedCount(), report.elapsedNanos() / 1_000_000, Math.round(report.booksPerSecond()));
+        return report;
+    }
+
+    private static Book parse(Function<String, Book> toBook, String line, long lineNumber,
+                              Set<Long> authorIds, Set<Long> genreIds) {
+        try {
+            var book = toBook.apply(line);
+            if (!authorIds.contains(book.getAuthor().getId())) {
+                throw new IllegalArgumentException("Author with id %d not found".formatted(book.getAuthor().getId()));
+            }
+            if (book.getGenres().isEmpty()) {
+                throw new IllegalArgumentException("Genres ids must not be empty");
+            }
+            // A genre repeated in the line would be linked to the book twice
+            var bookGenreIds = new LinkedHashSet<Long>();
+            for (var genre : book.getGenres()) {
+                if (!genreIds.contains(genre.getId())) {
+                    throw new IllegalArgumentException("Genre with id %d not found".formatted(genre.getId()));
+                }
+                bookGenreIds.add(genre.getId());
+            }
+            var genres = bookGenreIds.stream().map(id -> new Genre(id, null)).toList();
+            return new Book(book.getId(), book.getTitle(), book.getAuthor(), genres);
+        } catch (IllegalArgumentException e) {
+            log.warn("Line {} rejected: {}", lineNumber, e.getMessage());
+            return null;
+        }
+    }
+
+    private int insertChunk(List<Book> chunk) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        transactionTemplate.executeWithoutResult(status -> bookRepository.insertAll(chunk));
+        int inserted = chunk.size();
+        chunk.clear();
+        return inserted;
+    }
+}
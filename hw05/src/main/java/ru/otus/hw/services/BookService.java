@@ -11,6 +11,8 @@ public interface BookService {
 
     List<Book> findAll();
 
+    List<Book> findPage(long afterId, int pageSize);
+
     Book insert(String title, long authorId, Set<Long> genresIds);
 
     Book update(long id, String title, long authorId, Set<Long> genresIds);
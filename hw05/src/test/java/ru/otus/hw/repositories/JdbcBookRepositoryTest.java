@@ -1,5 +1,6 @@
 package ru.otus.hw.repositories;
 
+import org.assertj.core.api.InstanceOfAssertFactories;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -8,10 +9,12 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
 import ru.otus.hw.models.Author;
 import ru.otus.hw.models.Book;
 import ru.otus.hw.models.Genre;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.IntStream;
 
@@ -25,6 +28,9 @@ class JdbcBookRepositoryTest {
     @Autowired
     private JdbcBookRepository repositoryJdbc;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private List<Author> dbAuthors;
 
     private List<Genre> dbGenres;
@@ -58,6 +64,42 @@ class JdbcBookRepositoryTest {
         actualBooks.forEach(System.out::println);
     }
 
+    @DisplayName("должен загружать книги постранично по id")
+    @Test
+    void shouldReturnBooksPageByPage() {
+        var firstPage = repositoryJdbc.findPage(0, 2);
+        assertThat(firstPage).containsExactlyElementsOf(dbBooks.subList(0, 2));
+
+        var secondPage = repositoryJdbc.findPage(firstPage.get(1).getId(), 2);
+        assertThat(secondPage).containsExactlyElementsOf(dbBooks.subList(2, 3));
+
+        assertThat(repositoryJdbc.findPage(secondPage.get(0).getId(), 2)).isEmpty();
+    }
+
+    @DisplayName("должен передавать все книги по одной в порядке id")
+    @Test
+    void shouldPassEveryBookInIdOrder() {
+        var actualBooks = new ArrayList<Book>();
+        long count = repositoryJdbc.forEach(actualBooks::add);
+
+        assertThat(count).isEqualTo(dbBooks.size());
+        assertThat(actualBooks).containsExactlyElementsOf(dbBooks);
+    }
+
+    @DisplayName("должен сохранять пачку новых книг")
+    @Test
+    void shouldInsertBooksInBatch() {
+        var newBooks = List.of(
+                new Book(0, "BookTitle_10501", dbAuthors.get(0), List.of(dbGenres.get(0), dbGenres.get(1))),
+                new Book(0, "BookTitle_10502", dbAuthors.get(1), List.of(dbGenres.get(2))),
+                new Book(0, "BookTitle_10503", dbAuthors.get(2), List.of(dbGenres.get(3), dbGenres.get(5))));
+        repositoryJdbc.insertAll(newBooks);
+
+        assertThat(newBooks).allMatch(book -> book.getId() > 0)
+                .extracting(Book::getId).doesNotHaveDuplicates();
+        newBooks.forEach(book -> assertThat(repositoryJdbc.findById(book.getId())).contains(book));
+    }
+
     @DisplayName("должен сохранять новую книгу")
     @Test
     void shouldSaveNewBook() {
@@ -96,6 +138,23 @@ class JdbcBookRepositoryTest {
                 .isEqualTo(returnedBook);
     }
 
+    @DisplayName("должен менять только изменившиеся связи книги с жанрами")
+    @Test
+    void shouldUpdateOnlyChangedGenresRelations() {
+        var book = repositoryJdbc.findById(1L).orElseThrow();
+        assertThat(book.getGenres()).containsExactlyInAnyOrder(dbGenres.get(0), dbGenres.get(1));
+        long keptRowId = genreRelationRowId(1L, 2L);
+
+        book.setGenres(List.of(dbGenres.get(1), dbGenres.get(2)));
+        repositoryJdbc.save(book);
+
+        assertThat(repositoryJdbc.findById(1L)).get()
+                .extracting(Book::getGenres).asInstanceOf(InstanceOfAssertFactories.LIST)
+                .containsExactlyInAnyOrder(dbGenres.get(1), dbGenres.get(2));
+        // A deleted and inserted again row would get a new H2 row id
+        assertThat(genreRelationRowId(1L, 2L)).isEqualTo(keptRowId);
+    }
+
     @DisplayName("должен удалять книгу по id ")
     @Test
     void shouldDeleteBook() {
@@ -104,6 +163,11 @@ class JdbcBookRepositoryTest {
         assertThat(repositoryJdbc.findById(1L)).isEmpty();
     }
 
+    private long genreRelationRowId(long bookId, long genreId) {
+        return jdbcTemplate.queryForObject("select _rowid_ from books_genres where book_id = ? and genre_id = ?",
+                Long.class, bookId, genreId);
+    }
+
     private static List<Author> getDbAuthors() {
         return IntStream.range(1, 4).boxed()
                 .map(id -> new Author(id, "Author_" + id))
@@ -0,0 +1,51 @@
+package ru.otus.hw.services;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import ru.otus.hw.converters.BookImportConverter;
+import ru.otus.hw.models.Genre;
+import ru.otus.hw.repositories.JdbcAuthorRepository;
+import ru.otus.hw.repositories.JdbcBookRepository;
+import ru.otus.hw.repositories.JdbcGenreRepository;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@JdbcTest
+@Import({BookImportServiceImpl.class, BookImportConverter.class,
+        JdbcAuthorRepository.class, JdbcGenreRepository.class, JdbcBookRepository.class})
+class BookImportServiceImplTest {
+
+    @Autowired
+    private BookImportServiceImpl bookImportService;
+
+    @Autowired
+    private JdbcBookRepository bookRepository;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void shouldLinkRepeatedGenreOnlyOnce() throws IOException {
+        var file = Files.writeString(directory.resolve("books.csv"), """
+                id;title;author_id;author;genre_ids;genres
+                0;Imported;1;;2|1|2;
+                """);
+
+        var report = bookImportService.importBooks(file, BookExportFormat.CSV, 10);
+
+        assertThat(report.importedCount()).isEqualTo(1);
+        var imported = bookRepository.findAll().stream()
+                .filter(book -> book.getTitle().equals("Imported"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(imported.getGenres()).extracting(Genre::getId).containsExactlyInAnyOrderElementsOf(List.of(1L, 2L));
+    }
+}
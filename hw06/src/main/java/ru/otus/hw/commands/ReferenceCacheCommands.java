@@ -0,0 +1,36 @@
+package ru.otus.hw.commands;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
+import ru.otus.hw.repositories.CachingAuthorRepository;
+import ru.otus.hw.repositories.CachingGenreRepository;
+import ru.otus.hw.repositories.ReferenceCacheStats;
+
+@SuppressWarnings({"SpellCheckingInspection", "unused"})
+@RequiredArgsConstructor
+@ShellComponent
+public class ReferenceCacheCommands {
+
+    private final CachingAuthorRepository authorRepository;
+
+    private final CachingGenreRepository genreRepository;
+
+    // rcs, rcs --invalidate
+    @ShellMethod(value = "Show hits and misses of the authors and genres cache", key = "rcs")
+    public String referenceCacheStats(@ShellOption(value = "--invalidate", defaultValue = "false") boolean invalidate) {
+        var stats = "authors: %s%ngenres: %s".formatted(
+                statsToString(authorRepository.stats()), statsToString(genreRepository.stats()));
+        if (invalidate) {
+            authorRepository.invalidateAll();
+            genreRepository.invalidateAll();
+        }
+        return stats;
+    }
+
+    private static String statsToString(ReferenceCacheStats stats) {
+        return "hits %d, misses %d, hit rate %.1f%%, cached %d".formatted(
+                stats.hits(), stats.misses(), stats.hitRate() * 100, stats.size());
+    }
+}
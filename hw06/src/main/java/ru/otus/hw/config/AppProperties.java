@@ -0,0 +1,17 @@
+package ru.otus.hw.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "library")
+@Getter
+@Setter
+public class AppProperties implements ReferenceCacheConfig {
+
+    private int referenceCacheMaxSize;
+
+    private Duration referenceCacheTtl;
+}
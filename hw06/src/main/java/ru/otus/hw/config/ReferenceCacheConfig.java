@@ -0,0 +1,10 @@
+package ru.otus.hw.config;
+
+import java.time.Duration;
+
+public interface ReferenceCacheConfig {
+
+    int getReferenceCacheMaxSize();
+
+    Duration getReferenceCacheTtl();
+}
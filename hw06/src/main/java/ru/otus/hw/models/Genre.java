@@ -1,6 +1,7 @@
 package ru.otus.hw.models;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
@@ -11,6 +12,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
+import ru.otus.hw.repositories.ReferenceCacheInvalidator;
 
 @Getter
 @Setter
@@ -19,6 +21,7 @@ import lombok.ToString;
 @EqualsAndHashCode(of = "id")
 @ToString(of = {"id", "name"})
 @Table(name = "genres")
+@EntityListeners(ReferenceCacheInvalidator.class)
 @Entity
 public class Genre {
     @Id
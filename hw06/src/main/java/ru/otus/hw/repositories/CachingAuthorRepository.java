@@ -0,0 +1,64 @@
+package ru.otus.hw.repositories;
+
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import ru.otus.hw.config.ReferenceCacheConfig;
+import ru.otus.hw.models.Author;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Entities belong to the persistence context that read them, so only their state is cached and every call
+ * returns new detached copies. Changes made through JPA invalidate the cache via {@link ReferenceCacheInvalidator}.
+ */
+@Primary
+@Repository
+public class CachingAuthorRepository implements AuthorRepository {
+
+    private final AuthorRepositoryImpl delegate;
+
+    private final ReferenceDataCache<AuthorState> cache;
+
+    public CachingAuthorRepository(AuthorRepositoryImpl delegate, ReferenceCacheConfig cacheConfig) {
+        this.delegate = delegate;
+        this.cache = new ReferenceDataCache<>(AuthorState::id, cacheConfig.getReferenceCacheMaxSize(),
+                cacheConfig.getReferenceCacheTtl());
+    }
+
+    @Override
+    public List<Author> findAll() {
+        return cache.getAll(() -> delegate.findAll().stream().map(AuthorState::of).toList()).stream()
+                .map(AuthorState::toAuthor)
+                .toList();
+    }
+
+    @Override
+    public Optional<Author> findById(long id) {
+        return cache.get(id, authorId -> delegate.findById(authorId).map(AuthorState::of))
+                .map(AuthorState::toAuthor);
+    }
+
+    public void invalidate(long id) {
+        cache.invalidate(id);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public ReferenceCacheStats stats() {
+        return cache.stats();
+    }
+
+    private record AuthorState(long id, String fullName) {
+
+        static AuthorState of(Author author) {
+            return new AuthorState(author.getId(), author.getFullName());
+        }
+
+        Author toAuthor() {
+            return new Author(id, fullName);
+        }
+    }
+}
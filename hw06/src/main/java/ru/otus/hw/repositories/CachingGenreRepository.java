@@ -0,0 +1,60 @@
+package ru.otus.hw.repositories;
+
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import ru.otus.hw.config.ReferenceCacheConfig;
+import ru.otus.hw.models.Genre;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Caches the state of genres and returns new detached copies, see {@link CachingAuthorRepository}.
+ */
+@Primary
+@Repository
+public class CachingGenreRepository implements GenreRepository {
+
+    private final GenreRepositoryImpl delegate;
+
+    private final ReferenceDataCache<GenreState> cache;
+
+    public CachingGenreRepository(GenreRepositoryImpl delegate, ReferenceCacheConfig cacheConfig) {
+        this.delegate = delegate;
+        this.cache = new ReferenceDataCache<>(GenreState::id, cacheConfig.getReferenceCacheMaxSize(),
+                cacheConfig.getReferenceCacheTtl());
+    }
+
+    @Override
+    public List<Genre> findAll() {
+        return toGenres(cache.getAll(() -> toStates(delegate.findAll())));
+    }
+
+    @Override
+    public List<Genre> findAllByIds(Set<Long> ids) {
+        return toGenres(cache.getAll(ids, missing -> toStates(delegate.findAllByIds(missing))));
+    }
+
+    public void invalidate(long id) {
+        cache.invalidate(id);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public ReferenceCacheStats stats() {
+        return cache.stats();
+    }
+
+    private static List<GenreState> toStates(List<Genre> genres) {
+        return genres.stream().map(genre -> new GenreState(genre.getId(), genre.getName())).toList();
+    }
+
+    private static List<Genre> toGenres(List<GenreState> states) {
+        return states.stream().map(state -> new Genre(state.id(), state.name())).toList();
+    }
+
+    private record GenreState(long id, String name) {
+    }
+}
@@ -0,0 +1,48 @@
+package ru.otus.hw.repositories;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.otus.hw.models.Author;
+import ru.otus.hw.models.Genre;
+
+/**
+ * Entity listener of authors and genres that drops changed entries from the reference caches.
+ */
+@RequiredArgsConstructor
+@Component
+public class ReferenceCacheInvalidator {
+
+    private final ObjectProvider<CachingAuthorRepository> authorRepository;
+
+    private final ObjectProvider<CachingGenreRepository> genreRepository;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        if (entity instanceof Author author) {
+            authorRepository.ifAvailable(repository -> invalidate(() -> repository.invalidate(author.getId())));
+        } else if (entity instanceof Genre genre) {
+            genreRepository.ifAvailable(repository -> invalidate(() -> repository.invalidate(genre.getId())));
+        }
+    }
+
+    private static void invalidate(Runnable invalidation) {
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Other transactions read the old row until the commit and may have cached it after the flush
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+}
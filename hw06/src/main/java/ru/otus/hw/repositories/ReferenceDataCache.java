@@ -0,0 +1,172 @@
+package ru.otus.hw.repositories;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Read-through cache for a small reference table. Entries by id expire after the TTL and the least recently
+ * used ones are dropped above the size limit, the full list is cached as one entry. Absent ids are not cached.
+ * A size limit of 0 turns caching off, a zero TTL keeps entries until they are invalidated. Loaders run outside
+ * the lock, so a value loaded before an invalidation is returned but not cached.
+ */
+public class ReferenceDataCache<T> {
+
+    private final ToLongFunction<T> idOf;
+
+    private final int maxSize;
+
+    private final long ttlNanos;
+
+    private final LongSupplier clock;
+
+    private final Map<Long, Entry<T>> entries;
+
+    private Entry<List<T>> all;
+
+    // Invalidations so far, guarded by this cache
+    private long generation;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    public ReferenceDataCache(ToLongFunction<T> idOf, int maxSize, Duration ttl) {
+        this(idOf, maxSize, ttl, System::nanoTime);
+    }
+
+    ReferenceDataCache(ToLongFunction<T> idOf, int maxSize, Duration ttl, LongSupplier clock) {
+        this.idOf = idOf;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl == null || ttl.isZero() ? Long.MAX_VALUE : ttl.toNanos();
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry<T>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public Optional<T> get(long id, LongFunction<Optional<T>> loader) {
+        if (maxSize <= 0) {
+            return loader.apply(id);
+        }
+        long loadGeneration;
+        synchronized (this) {
+            var entry = fresh(entries.get(id));
+            if (entry != null) {
+                hits.increment();
+                return Optional.of(entry.value());
+            }
+            loadGeneration = generation;
+        }
+        misses.increment();
+        var value = loader.apply(id);
+        value.ifPresent(loaded -> put(List.of(loaded), loadGeneration));
+        return value;
+    }
+
+    /**
+     * Cached entities are returned as they are, the missing ones are read with a single call of the loader.
+     */
+    public List<T> getAll(Set<Long> ids, Function<Set<Long>, List<T>> loader) {
+        if (maxSize <= 0) {
+            return loader.apply(ids);
+        }
+        var values = new ArrayList<T>(ids.size());
+        var missing = new HashSet<Long>();
+        long loadGeneration;
+        synchronized (this) {
+            for (var id : ids) {
+                var entry = fresh(entries.get(id));
+                if (entry != null) {
+                    values.add(entry.value());
+                } else {
+                    missing.add(id);
+                }
+            }
+            loadGeneration = generation;
+        }
+        hits.add(values.size());
+        if (missing.isEmpty()) {
+            return values;
+        }
+        misses.add(missing.size());
+        var loaded = loader.apply(missing);
+        put(loaded, loadGeneration);
+        values.addAll(loaded);
+        return values;
+    }
+
+    public List<T> getAll(Supplier<List<T>> loader) {
+        if (maxSize <= 0) {
+            return loader.get();
+        }
+        long loadGeneration;
+        synchronized (this) {
+            var entry = fresh(all);
+            if (entry != null) {
+                hits.increment();
+                return new ArrayList<>(entry.value());
+            }
+            loadGeneration = generation;
+        }
+        misses.increment();
+        var loaded = List.copyOf(loader.get());
+        synchronized (this) {
+            if (loadGeneration == generation) {
+                all = new Entry<>(loaded, clock.getAsLong());
+                put(loaded, loadGeneration);
+            }
+        }
+        return new ArrayList<>(loaded);
+    }
+
+    public synchronized void invalidate(long id) {
+        generation++;
+        entries.remove(id);
+        all = null;
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+        all = null;
+    }
+
+    public synchronized ReferenceCacheStats stats() {
+        return new ReferenceCacheStats(hits.sum(), misses.sum(), entries.size());
+    }
+
+    private synchronized void put(List<T> values, long loadGeneration) {
+        if (loadGeneration != generation) {
+            return;
+        }
+        long loadedAt = clock.getAsLong();
+        for (var value : values) {
+            entries.put(idOf.applyAsLong(value), new Entry<>(value, loadedAt));
+        }
+    }
+
+    private <V> Entry<V> fresh(Entry<V> entry) {
+        if (entry == null || clock.getAsLong() - entry.loadedAt() >= ttlNanos) {
+            return null;
+        }
+        return entry;
+    }
+
+    private record Entry<V>(V value, long loadedAt) {
+    }
+}
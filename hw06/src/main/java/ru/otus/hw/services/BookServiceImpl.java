@@ -70,6 +70,10 @@ public class BookServiceImpl implements BookService {
         }
 
         var book = new Book(id, title, author, genres);
-        return bookRepository.save(book);
+        var saved = bookRepository.save(book);
+        // merge replaces the detached author and genres with proxies, the book is shown after the transaction
+        Hibernate.initialize(saved.getAuthor());
+        saved.getGenres().forEach(Hibernate::initialize);
+        return saved;
     }
 }
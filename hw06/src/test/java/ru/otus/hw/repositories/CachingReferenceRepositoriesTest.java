@@ -0,0 +1,92 @@
+package ru.otus.hw.repositories;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.otus.hw.models.Author;
+import ru.otus.hw.models.Genre;
+import ru.otus.hw.services.BookService;
+import ru.otus.hw.services.BookServiceImpl;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Кэширующие репозитории справочников ")
+@DataJpaTest
+@Import({CachingAuthorRepository.class, CachingGenreRepository.class, AuthorRepositoryImpl.class,
+        GenreRepositoryImpl.class, BookRepositoryImpl.class, BookServiceImpl.class, ReferenceCacheInvalidator.class})
+@TestPropertySource(properties = "library.referenceCacheMaxSize=100")
+@Transactional(propagation = Propagation.NEVER)
+class CachingReferenceRepositoriesTest {
+
+    @Autowired
+    private CachingAuthorRepository authorRepository;
+
+    @Autowired
+    private CachingGenreRepository genreRepository;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @DisplayName("должны возвращать каждому вызову свои копии сущностей")
+    @Test
+    void shouldReturnNewCopiesOnEachCall() {
+        long authorHits = authorRepository.stats().hits();
+        long genreHits = genreRepository.stats().hits();
+
+        authorRepository.findById(3).orElseThrow().setFullName("Changed");
+        genreRepository.findAllByIds(Set.of(6L)).get(0).setName("Changed");
+
+        assertThat(authorRepository.findById(3)).get().extracting(Author::getFullName).isEqualTo("Author_3");
+        assertThat(genreRepository.findAllByIds(Set.of(6L))).extracting(Genre::getName).containsExactly("Genre_6");
+        assertThat(authorRepository.stats().hits()).isGreaterThan(authorHits);
+        assertThat(genreRepository.stats().hits()).isGreaterThan(genreHits);
+    }
+
+    @DisplayName("должны сбрасывать запись после изменения сущности")
+    @Test
+    void shouldReloadChangedEntities() {
+        authorRepository.findById(2);
+        genreRepository.findAll();
+
+        inTransaction(() -> {
+            entityManager.find(Author.class, 2L).setFullName("Renamed");
+            entityManager.persist(new Genre(0, "Genre_7"));
+        });
+
+        assertThat(authorRepository.findById(2)).get().extracting(Author::getFullName).isEqualTo("Renamed");
+        assertThat(genreRepository.findAll()).extracting(Genre::getName).contains("Genre_7");
+    }
+
+    @DisplayName("должны отдавать сервису книг сущности, пригодные для сохранения и вывода")
+    @Test
+    void shouldSaveBooksWithCachedReferences() {
+        var inserted = bookService.insert("New Book", 1L, Set.of(1L, 2L));
+        var updated = bookService.update(inserted.getId(), "Updated Book", 1L, Set.of(2L));
+
+        assertThat(updated.getAuthor().getFullName()).isEqualTo("Author_1");
+        assertThat(updated.getGenres()).extracting(Genre::getName).containsExactly("Genre_2");
+        assertThat(bookService.findById(inserted.getId())).get()
+                .usingRecursiveComparison()
+                .isEqualTo(updated);
+    }
+
+    private void inTransaction(Runnable action) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> action.run());
+    }
+}
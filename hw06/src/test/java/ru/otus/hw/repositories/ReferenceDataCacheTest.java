@@ -0,0 +1,144 @@
+package ru.otus.hw.repositories;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.otus.hw.models.Genre;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Кэш справочников ")
+class ReferenceDataCacheTest {
+
+    private static final Duration TTL = Duration.ofMinutes(1);
+
+    private final Map<Long, Genre> genres = LongStream.rangeClosed(1, 6).boxed()
+            .collect(Collectors.toMap(id -> id, id -> new Genre(id, "Genre_" + id)));
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final LongFunction<Optional<Genre>> byId = id -> {
+        loads.incrementAndGet();
+        return Optional.ofNullable(genres.get(id));
+    };
+
+    private final Function<Set<Long>, List<Genre>> byIds = ids -> {
+        loads.incrementAndGet();
+        return ids.stream().map(genres::get).filter(genre -> genre != null).toList();
+    };
+
+    private ReferenceDataCache<Genre> cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ReferenceDataCache<>(Genre::getId, 3, TTL, clock::get);
+    }
+
+    @DisplayName("должен читать источник только при промахе")
+    @Test
+    void shouldLoadOnlyOnMiss() {
+        assertThat(cache.get(1, byId)).contains(genres.get(1L));
+        assertThat(cache.get(1, byId)).contains(genres.get(1L));
+
+        assertThat(loads).hasValue(1);
+        assertThat(cache.stats()).isEqualTo(new ReferenceCacheStats(1, 1, 1));
+    }
+
+    @DisplayName("должен дочитывать одним запросом только отсутствующие id")
+    @Test
+    void shouldLoadOnlyMissingIdsAtOnce() {
+        cache.get(1, byId);
+
+        var actual = cache.getAll(Set.of(1L, 2L, 3L), byIds);
+
+        assertThat(actual).containsExactlyInAnyOrder(genres.get(1L), genres.get(2L), genres.get(3L));
+        assertThat(loads).hasValue(2);
+        assertThat(cache.getAll(Set.of(2L, 3L), byIds)).hasSize(2);
+        assertThat(loads).hasValue(2);
+    }
+
+    @DisplayName("не должен кэшировать отсутствующие записи")
+    @Test
+    void shouldNotCacheAbsentIds() {
+        assertThat(cache.get(100, byId)).isEmpty();
+        assertThat(cache.get(100, byId)).isEmpty();
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @DisplayName("должен перечитывать записи после истечения TTL и сброса")
+    @Test
+    void shouldReloadExpiredAndInvalidatedEntries() {
+        cache.get(1, byId);
+        clock.addAndGet(TTL.toNanos());
+        cache.get(1, byId);
+        assertThat(loads).hasValue(2);
+
+        cache.invalidate(1);
+        cache.get(1, byId);
+        assertThat(loads).hasValue(3);
+    }
+
+    @DisplayName("не должен кэшировать записи, прочитанные до сброса")
+    @Test
+    void shouldNotCacheEntriesLoadedBeforeInvalidation() {
+        cache.get(1, id -> {
+            cache.invalidate(id);
+            return byId.apply(id);
+        });
+        cache.getAll(Set.of(2L), ids -> {
+            cache.invalidateAll();
+            return byIds.apply(ids);
+        });
+        cache.getAll(() -> {
+            cache.invalidateAll();
+            return List.copyOf(genres.values());
+        });
+
+        assertThat(cache.stats().size()).isZero();
+        loads.set(0);
+        cache.get(1, byId);
+        cache.getAll(Set.of(2L), byIds);
+        assertThat(loads).hasValue(2);
+    }
+
+    @DisplayName("должен вытеснять давно не использованные записи сверх размера")
+    @Test
+    void shouldEvictLeastRecentlyUsedEntries() {
+        cache.getAll(Set.of(1L, 2L, 3L), byIds);
+        cache.get(1, byId);
+        cache.get(4, byId);
+
+        assertThat(cache.stats().size()).isEqualTo(3);
+        loads.set(0);
+        cache.get(1, byId);
+        assertThat(loads).hasValue(0);
+    }
+
+    @DisplayName("должен кэшировать полный список целиком")
+    @Test
+    void shouldCacheWholeList() {
+        var all = List.copyOf(genres.values());
+        cache.getAll(() -> {
+            loads.incrementAndGet();
+            return all;
+        });
+
+        assertThat(cache.getAll(() -> List.of())).containsExactlyElementsOf(all);
+        assertThat(loads).hasValue(1);
+    }
+}